@@ -0,0 +1,158 @@
+public class BandedLU {
+
+    // Pivots smaller than this are treated as singular (same threshold as GaussianElimination)
+    static final double SINGULAR_TOLERANCE = 1e-10;
+
+    private final int n;
+    private final int kl;
+    private final int ku;
+
+    // Row i holds columns i-kl .. i+kl+ku; the extra kl super-diagonals take the fill from row swaps
+    private final int width;
+    private final double[] band;
+
+    // Multipliers of elimination step j live at lower[j*kl .. j*kl+kl-1]
+    private final double[] lower;
+    private final int[] piv;
+
+    /**
+     * Creates an empty n x n band with kl sub-diagonals and ku super-diagonals.
+     * Entries are filled with set() before calling factor().
+     */
+    BandedLU(int n, int kl, int ku) {
+        this.n = n;
+        this.kl = kl;
+        this.ku = ku;
+        this.width = 2 * kl + ku + 1;
+        this.band = new double[n * width];
+        this.lower = new double[n * kl];
+        this.piv = new int[n];
+    }
+
+    // Store entry (i, j), which must lie inside the band
+    void set(int i, int j, double value) {
+        if (j < i - kl || j > i + ku) {
+            throw new IllegalArgumentException("Entry (" + i + ", " + j + ") is outside the band");
+        }
+        band[i * width + (j - i + kl)] = value;
+    }
+
+    // Copy a sparse matrix whose non-zeros lie within kl sub-diagonals and ku super-diagonals
+    public static BandedLU factor(SparseMatrix a, int kl, int ku) {
+        BandedLU lu = new BandedLU(a.n, kl, ku);
+        for (int i = 0; i < a.n; i++) {
+            for (int k = a.rowPtr[i]; k < a.rowPtr[i + 1]; k++) {
+                lu.set(i, a.colIdx[k], a.values[k]);
+            }
+        }
+        lu.factor();
+        return lu;
+    }
+
+    // Copy the band of a dense matrix; entries outside the band are ignored
+    public static BandedLU factor(double[][] matrix, int kl, int ku) {
+        int n = matrix.length;
+        BandedLU lu = new BandedLU(n, kl, ku);
+        for (int i = 0; i < n; i++) {
+            int from = Math.max(0, i - kl);
+            int to = Math.min(n - 1, i + ku);
+            for (int j = from; j <= to; j++) {
+                lu.set(i, j, matrix[i][j]);
+            }
+        }
+        lu.factor();
+        return lu;
+    }
+
+    /**
+     * Factors the band in place with partial pivoting in O(n * kl * (kl + ku)) time.
+     * @throws ArithmeticException if the matrix is singular or nearly singular.
+     */
+    void factor() {
+        for (int j = 0; j < n; j++) {
+            int last = Math.min(n - 1, j + kl);
+            int lastCol = Math.min(n - 1, j + kl + ku);
+
+            // Find the pivot among the rows that reach column j
+            int max = j;
+            double maxValue = Math.abs(band[j * width + kl]);
+            for (int i = j + 1; i <= last; i++) {
+                double value = Math.abs(band[i * width + (j - i + kl)]);
+                if (value > maxValue) {
+                    max = i;
+                    maxValue = value;
+                }
+            }
+            piv[j] = max;
+            if (maxValue <= SINGULAR_TOLERANCE) {
+                throw new ArithmeticException("Matrix is singular or nearly singular. No unique solution.");
+            }
+
+            // Swap the active parts of the two rows
+            if (max != j) {
+                for (int c = j; c <= lastCol; c++) {
+                    int p1 = j * width + (c - j + kl);
+                    int p2 = max * width + (c - max + kl);
+                    double t = band[p1];
+                    band[p1] = band[p2];
+                    band[p2] = t;
+                }
+            }
+
+            // Eliminate the entries below the pivot
+            int rowJ = j * width - j + kl;
+            double pivot = band[rowJ + j];
+            for (int i = j + 1; i <= last; i++) {
+                int rowI = i * width - i + kl;
+                double factor = band[rowI + j] / pivot;
+                lower[j * kl + (i - j - 1)] = factor;
+                band[rowI + j] = 0.0;
+                if (factor == 0.0) {
+                    continue;
+                }
+                for (int c = j + 1; c <= lastCol; c++) {
+                    band[rowI + c] -= factor * band[rowJ + c];
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // Solve A * x = b using the band factors; b is not modified
+    public double[] solve(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        double[] x = b.clone();
+
+        // Forward substitution, applying each row swap as it happened during factorization
+        for (int j = 0; j < n; j++) {
+            int p = piv[j];
+            if (p != j) {
+                double t = x[j];
+                x[j] = x[p];
+                x[p] = t;
+            }
+            int last = Math.min(n - 1, j + kl);
+            double xj = x[j];
+            for (int i = j + 1; i <= last; i++) {
+                x[i] -= lower[j * kl + (i - j - 1)] * xj;
+            }
+        }
+
+        // Back substitution with the banded U
+        for (int i = n - 1; i >= 0; i--) {
+            int rowI = i * width - i + kl;
+            int lastCol = Math.min(n - 1, i + kl + ku);
+            double sum = 0;
+            for (int c = i + 1; c <= lastCol; c++) {
+                sum += band[rowI + c] * x[c];
+            }
+            x[i] = (x[i] - sum) / band[rowI + i];
+        }
+        return x;
+    }
+}
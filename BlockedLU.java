@@ -0,0 +1,234 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class BlockedLU {
+
+    // Number of columns factored together in one panel
+    static final int BLOCK_SIZE = 64;
+
+    // Number of columns of the trailing matrix updated together, so the U12 tile stays in cache
+    static final int TILE_COLUMNS = 256;
+
+    // Pivots smaller than this are treated as singular (same threshold as GaussianElimination)
+    static final double SINGULAR_TOLERANCE = 1e-10;
+
+    // Default minimum number of trailing rows handled by one parallel task
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+
+    /**
+     * Factors the n x n row-major matrix a in place into P * A = L * U using partial pivoting.
+     * L (unit lower triangular) and U share the storage of a; piv[i] records the row swapped with row i.
+     * The matrix is processed in panels of BLOCK_SIZE columns so the trailing update streams
+     * through contiguous rows instead of jumping between separate row arrays.
+     * @return false if a pivot is singular or nearly singular.
+     */
+    static boolean factor(double[] a, int n, int[] piv) {
+        return factor(a, n, piv, null, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Same as factor(a, n, piv), but splits the trailing matrix update across the given pool.
+     * Rows of the trailing matrix are updated independently, so tasks never share writes.
+     * Updates with no more than parallelThreshold rows run on the calling thread.
+     * @param pool The pool to run on, or null to stay sequential.
+     */
+    static boolean factor(double[] a, int n, int[] piv, ForkJoinPool pool, int parallelThreshold) {
+        for (int kb = 0; kb < n; kb += BLOCK_SIZE) {
+            int end = Math.min(kb + BLOCK_SIZE, n);
+
+            // Factor the panel (columns kb..end-1) with partial pivoting
+            for (int j = kb; j < end; j++) {
+                int max = j;
+                double maxValue = Math.abs(a[j * n + j]);
+                for (int i = j + 1; i < n; i++) {
+                    double value = Math.abs(a[i * n + j]);
+                    if (value > maxValue) {
+                        max = i;
+                        maxValue = value;
+                    }
+                }
+                piv[j] = max;
+                if (maxValue <= SINGULAR_TOLERANCE) {
+                    return false;
+                }
+                if (max != j) {
+                    swapRows(a, n, j, max);
+                }
+
+                int rowJ = j * n;
+                double pivot = a[rowJ + j];
+                for (int i = j + 1; i < n; i++) {
+                    int rowI = i * n;
+                    double factor = a[rowI + j] / pivot;
+                    a[rowI + j] = factor;
+                    VectorKernels.axpy(-factor, a, rowJ + j + 1, a, rowI + j + 1, end - j - 1);
+                }
+            }
+
+            if (end == n) {
+                break;
+            }
+
+            // Compute the U12 block: solve L11 * U12 = A12 for the rows of the panel
+            for (int j = kb + 1; j < end; j++) {
+                int rowJ = j * n;
+                for (int i = kb; i < j; i++) {
+                    double factor = a[rowJ + i];
+                    int rowI = i * n;
+                    VectorKernels.axpy(-factor, a, rowI + end, a, rowJ + end, n - end);
+                }
+            }
+
+            // Update the trailing matrix: A22 -= L21 * U12
+            if (pool == null || n - end <= parallelThreshold) {
+                updateTrailing(a, n, kb, end, end, n);
+            } else {
+                pool.invoke(new TrailingUpdate(a, n, kb, end, end, n, parallelThreshold));
+            }
+        }
+        return true;
+    }
+
+    // Applies A22 -= L21 * U12 for rows [rowStart, rowEnd) of the trailing matrix of panel [kb, end)
+    static void updateTrailing(double[] a, int n, int kb, int end, int rowStart, int rowEnd) {
+        for (int cb = end; cb < n; cb += TILE_COLUMNS) {
+            int cEnd = Math.min(cb + TILE_COLUMNS, n);
+            for (int i = rowStart; i < rowEnd; i++) {
+                int rowI = i * n;
+                for (int p = kb; p < end; p++) {
+                    double factor = a[rowI + p];
+                    if (factor == 0.0) {
+                        continue;
+                    }
+                    VectorKernels.axpy(-factor, a, p * n + cb, a, rowI + cb, cEnd - cb);
+                }
+            }
+        }
+    }
+
+    // Fork/join task that splits the trailing update by rows until a range is small enough
+    static class TrailingUpdate extends RecursiveAction {
+        private final double[] a;
+        private final int n, kb, end, rowStart, rowEnd, threshold;
+
+        TrailingUpdate(double[] a, int n, int kb, int end, int rowStart, int rowEnd, int threshold) {
+            this.a = a;
+            this.n = n;
+            this.kb = kb;
+            this.end = end;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (rowEnd - rowStart <= threshold) {
+                updateTrailing(a, n, kb, end, rowStart, rowEnd);
+                return;
+            }
+            int mid = (rowStart + rowEnd) >>> 1;
+            invokeAll(new TrailingUpdate(a, n, kb, end, rowStart, mid, threshold),
+                    new TrailingUpdate(a, n, kb, end, mid, rowEnd, threshold));
+        }
+    }
+
+    // Swap two rows of the row-major matrix
+    static void swapRows(double[] a, int n, int r1, int r2) {
+        int o1 = r1 * n;
+        int o2 = r2 * n;
+        for (int k = 0; k < n; k++) {
+            double t = a[o1 + k];
+            a[o1 + k] = a[o2 + k];
+            a[o2 + k] = t;
+        }
+    }
+
+    // Solve L * U * x = P * b in place using the factors produced by factor()
+    static void substitute(double[] lu, int n, int[] piv, double[] x) {
+        // Apply the row permutation
+        for (int i = 0; i < n; i++) {
+            int p = piv[i];
+            if (p != i) {
+                double t = x[i];
+                x[i] = x[p];
+                x[p] = t;
+            }
+        }
+
+        // Forward substitution with unit lower triangular L
+        for (int i = 1; i < n; i++) {
+            x[i] -= VectorKernels.dot(lu, i * n, x, 0, i);
+        }
+
+        // Back substitution with U
+        for (int i = n - 1; i >= 0; i--) {
+            int rowI = i * n;
+            double sum = VectorKernels.dot(lu, rowI + i + 1, x, i + 1, n - i - 1);
+            x[i] = (x[i] - sum) / lu[rowI + i];
+        }
+    }
+
+    // Copy a jagged matrix into one contiguous row-major array
+    static double[] flatten(double[][] matrix, int n) {
+        double[] a = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            if (matrix[i].length != n) {
+                throw new IllegalArgumentException("Matrix must be square: row " + i + " has " + matrix[i].length + " columns");
+            }
+            System.arraycopy(matrix[i], 0, a, i * n, n);
+        }
+        return a;
+    }
+
+    /**
+     * Solves matrix * x = result with a cache-blocked LU factorization.
+     * The inputs are copied and left untouched.
+     * @return The solution vector.
+     * @throws ArithmeticException if the matrix is singular or nearly singular.
+     */
+    public static double[] solve(double[][] matrix, double[] result) {
+        return solve(matrix, result, null, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Solves matrix * x = result, running the trailing updates of the factorization on the given pool.
+     * @param pool The pool to run on, or null to stay sequential.
+     * @param parallelThreshold Minimum number of trailing rows per parallel task.
+     */
+    public static double[] solve(double[][] matrix, double[] result, ForkJoinPool pool, int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive: " + parallelThreshold);
+        }
+        int n = result.length;
+        if (matrix.length != n) {
+            throw new IllegalArgumentException("Matrix has " + matrix.length + " rows but result vector has " + n + " entries");
+        }
+        double[] a = flatten(matrix, n);
+        int[] piv = new int[n];
+        if (!factor(a, n, piv, pool, parallelThreshold)) {
+            throw new ArithmeticException("Matrix is singular or nearly singular. No unique solution.");
+        }
+        double[] x = result.clone();
+        substitute(a, n, piv, x);
+        return x;
+    }
+
+    /**
+     * Solves a system already stored row-major in one array, such as one read by MatrixIO.
+     * The matrix is overwritten with its LU factors to avoid a second n x n copy; result is not modified.
+     * @throws ArithmeticException if the matrix is singular or nearly singular.
+     */
+    public static double[] solveInPlace(double[] matrix, int n, double[] result) {
+        if (matrix.length != n * n || result.length != n) {
+            throw new IllegalArgumentException("Matrix must have n * n entries and the result vector n entries");
+        }
+        int[] piv = new int[n];
+        if (!factor(matrix, n, piv)) {
+            throw new ArithmeticException("Matrix is singular or nearly singular. No unique solution.");
+        }
+        double[] x = result.clone();
+        substitute(matrix, n, piv, x);
+        return x;
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Dual number value + derivative * e with e^2 = 0, for forward-mode automatic differentiation.
+ * Seeding x as (x, 1) and evaluating f with dual arithmetic gives (f(x), f'(x)) exactly, without
+ * a hand-written derivative or a finite-difference step.
+ * The operations update this number in place and return it, so a function can be written as a chain
+ * like out.set(x).multiply(x).subtract(4) and evaluated repeatedly without allocating.
+ */
+public final class Dual {
+
+    // A function written with dual arithmetic: reads x and writes f(x) into out
+    @FunctionalInterface
+    public interface Function {
+        void apply(Dual x, Dual out);
+    }
+
+    double value;
+    double derivative;
+
+    public Dual() {
+    }
+
+    public Dual(double value, double derivative) {
+        this.value = value;
+        this.derivative = derivative;
+    }
+
+    public double value() {
+        return value;
+    }
+
+    public double derivative() {
+        return derivative;
+    }
+
+    public Dual set(double value, double derivative) {
+        this.value = value;
+        this.derivative = derivative;
+        return this;
+    }
+
+    public Dual set(Dual other) {
+        value = other.value;
+        derivative = other.derivative;
+        return this;
+    }
+
+    // Constant: derivative 0
+    public Dual constant(double c) {
+        return set(c, 0);
+    }
+
+    public Dual add(double c) {
+        value += c;
+        return this;
+    }
+
+    public Dual add(Dual other) {
+        value += other.value;
+        derivative += other.derivative;
+        return this;
+    }
+
+    // this + k * other, without a temporary for the product
+    public Dual addScaled(double k, Dual other) {
+        value += k * other.value;
+        derivative += k * other.derivative;
+        return this;
+    }
+
+    public Dual subtract(double c) {
+        value -= c;
+        return this;
+    }
+
+    public Dual subtract(Dual other) {
+        value -= other.value;
+        derivative -= other.derivative;
+        return this;
+    }
+
+    public Dual multiply(double c) {
+        value *= c;
+        derivative *= c;
+        return this;
+    }
+
+    // (u v)' = u' v + u v'
+    public Dual multiply(Dual other) {
+        derivative = derivative * other.value + value * other.derivative;
+        value *= other.value;
+        return this;
+    }
+
+    public Dual divide(double c) {
+        value /= c;
+        derivative /= c;
+        return this;
+    }
+
+    // (u / v)' = (u' v - u v') / v^2
+    public Dual divide(Dual other) {
+        double v = other.value;
+        derivative = (derivative * v - value * other.derivative) / (v * v);
+        value /= v;
+        return this;
+    }
+
+    public Dual negate() {
+        value = -value;
+        derivative = -derivative;
+        return this;
+    }
+
+    // u^n for a constant exponent n
+    public Dual pow(double n) {
+        double p = Math.pow(value, n - 1);
+        derivative *= n * p;
+        value *= p;
+        return this;
+    }
+
+    public Dual sqrt() {
+        value = Math.sqrt(value);
+        derivative /= 2 * value;
+        return this;
+    }
+
+    public Dual exp() {
+        value = Math.exp(value);
+        derivative *= value;
+        return this;
+    }
+
+    public Dual log() {
+        derivative /= value;
+        value = Math.log(value);
+        return this;
+    }
+
+    public Dual sin() {
+        derivative *= Math.cos(value);
+        value = Math.sin(value);
+        return this;
+    }
+
+    public Dual cos() {
+        derivative *= -Math.sin(value);
+        value = Math.cos(value);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return value + " + " + derivative + "e";
+    }
+}
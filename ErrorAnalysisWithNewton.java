@@ -1,8 +1,33 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class ErrorAnalysisWithNewton {
 
+    // Default trials and seed of the Monte Carlo run in main
+    static final long MONTE_CARLO_TRIALS = 100_000;
+    static final long MONTE_CARLO_SEED = 42;
+
+    // Usage: java ErrorAnalysisWithNewton for the interactive run, or
+    // java ErrorAnalysisWithNewton sweep <output.csv|output.bin> [a=start:end:count] [b=...] [c=...]
+    //     [digits=min:max] [error=start:end:count] [guess=x] [tolerance=t] [iterations=n] [seed=s]
+    // for a parameter sweep; error magnitudes are spaced geometrically, everything else linearly
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("sweep")) {
+            try {
+                sweep(args);
+            } catch (IOException e) {
+                System.out.println("Could not write the sweep: " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+            }
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         // User input for a, b, c with default values if user hits return
@@ -14,6 +39,8 @@ public class ErrorAnalysisWithNewton {
         double initialGuess = getInputOrDefault(scanner, "Enter initial guess: ", 1.0);
         double tolerance = getInputOrDefault(scanner, "Enter tolerance: ", 1e-7);
         int maxIterations = (int) getInputOrDefault(scanner, "Enter maximum iterations: ", 1000);
+        long trials = (long) getInputOrDefault(scanner,
+                "Enter Monte Carlo trials, 0 to skip (default " + MONTE_CARLO_TRIALS + "): ", MONTE_CARLO_TRIALS);
 
         System.out.println("\nApplying Standard Newton's Method to find the root of the equation...");
         // Basic Newton's Method
@@ -33,6 +60,94 @@ public class ErrorAnalysisWithNewton {
 
         // Analysis of the results
         analyzeResults(root, rootWithTruncationError, rootWithPropagationError);
+
+        // One trial is a single noisy sample: repeat it many times with seeded generators,
+        // unless there is no real root to measure the errors against
+        if (trials > 0 && Double.isNaN(PropagationMonteCarlo.exactRoot(a, b, c, initialGuess, tolerance, maxIterations))) {
+            System.out.println("\nSkipping the Monte Carlo run: the equation has no real root to measure errors against.");
+        } else if (trials > 0) {
+            System.out.println("\nRepeating the Propagation Error run " + trials + " times (seed " + MONTE_CARLO_SEED + ")...");
+            PropagationMonteCarlo.Result monteCarlo = PropagationMonteCarlo.run(a, b, c, initialGuess, initialError,
+                    tolerance, maxIterations, trials, MONTE_CARLO_SEED);
+            System.out.println("Propagation Error over all trials: " + monteCarlo);
+        }
+
+        // Compare against the exact roots from the closed-form solver
+        QuadraticSolver.Roots exact = QuadraticSolver.solve(a, b, c);
+        if (exact.count > 0) {
+            double nearest = Math.abs(exact.smaller - root) <= Math.abs(exact.larger - root) ? exact.smaller : exact.larger;
+            System.out.println("Exact root (closed form): " + nearest);
+            System.out.println("Error of Standard Newton's Method: " + Math.abs(root - nearest));
+        } else if (exact.isComplex()) {
+            System.out.println("The equation has no real roots: " + exact.realPart + " +/- " + exact.imaginaryPart + "i");
+        }
+    }
+
+    // Parse the sweep arguments, run it on the common pool and report where the rows went
+    static void sweep(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: sweep <output file> [name=value ...]");
+        }
+        Path output = Paths.get(args[1]);
+        ParameterSweep.Range a = ParameterSweep.Range.of(1.0);
+        ParameterSweep.Range b = ParameterSweep.Range.of(1.0);
+        ParameterSweep.Range c = ParameterSweep.Range.of(1.0);
+        ParameterSweep.Range errors = ParameterSweep.Range.of(0.01);
+        int minDigits = 4;
+        int maxDigits = 4;
+        double initialGuess = 1.0;
+        double tolerance = 1e-7;
+        int maxIterations = 1000;
+        long seed = 42;
+        for (int i = 2; i < args.length; i++) {
+            int split = args[i].indexOf('=');
+            if (split < 0) {
+                throw new IllegalArgumentException("Expected name=value, got " + args[i]);
+            }
+            String name = args[i].substring(0, split);
+            String value = args[i].substring(split + 1);
+            switch (name) {
+                case "a":
+                    a = ParameterSweep.Range.parse(value, false);
+                    break;
+                case "b":
+                    b = ParameterSweep.Range.parse(value, false);
+                    break;
+                case "c":
+                    c = ParameterSweep.Range.parse(value, false);
+                    break;
+                case "error":
+                    errors = ParameterSweep.Range.parse(value, true);
+                    break;
+                case "digits":
+                    // "digits" or "min:max"
+                    String[] bounds = value.split(":");
+                    if (bounds.length > 2) {
+                        throw new IllegalArgumentException("Expected digits or min:max, got " + value);
+                    }
+                    minDigits = Integer.parseInt(bounds[0]);
+                    maxDigits = Integer.parseInt(bounds[bounds.length - 1]);
+                    break;
+                case "guess":
+                    initialGuess = Double.parseDouble(value);
+                    break;
+                case "tolerance":
+                    tolerance = Double.parseDouble(value);
+                    break;
+                case "iterations":
+                    maxIterations = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown sweep parameter: " + name);
+            }
+        }
+        ParameterSweep sweep = new ParameterSweep(a, b, c, minDigits, maxDigits, errors);
+        long start = System.nanoTime();
+        long rows = sweep.run(output, initialGuess, tolerance, maxIterations, seed, ForkJoinPool.commonPool());
+        System.out.println(rows + " grid points written to " + output + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
     }
 
     // Method to get input or default value
@@ -79,13 +194,19 @@ public class ErrorAnalysisWithNewton {
 
     // Newton's Method with Truncation Error
     public static double newtonsMethodWithTruncationError(double a, double b, double c, double initialGuess, double tolerance, int maxIterations) {
+        return newtonsMethodWithTruncationError(a, b, c, initialGuess, tolerance, maxIterations, 4);
+    }
+
+    // Newton's Method with the derivative rounded to the given number of decimal places
+    public static double newtonsMethodWithTruncationError(double a, double b, double c, double initialGuess, double tolerance, int maxIterations, int digits) {
+        double scale = Math.pow(10, digits);
         double x = initialGuess;
         for (int i = 0; i < maxIterations; i++) {
             double fx = a * x * x + b * x + c; // f(x) = ax^2 + bx + c
             double fpx = 2 * a * x + b; // f'(x) = 2ax + b
 
-            // Truncate to 4 decimal places to simulate truncation error
-            fpx = Math.round(fpx * 10000.0) / 10000.0;
+            // Truncate to the given number of decimal places to simulate truncation error
+            fpx = roundToScale(fpx, scale);
 
             if (Math.abs(fpx) < tolerance) {
                 System.out.println("Derivative is too small, stopping iteration.");
@@ -114,7 +235,7 @@ public class ErrorAnalysisWithNewton {
             double fpx = 2 * a * x + b; // f'(x) = 2ax + b
 
             // Introduce random error in the derivative
-            fpx += (Math.random() - 0.5) * initialError;
+            fpx += (ThreadLocalRandom.current().nextDouble() - 0.5) * initialError;
 
             if (Math.abs(fpx) < tolerance) {
                 System.out.println("Derivative is too small, stopping iteration.");
@@ -135,6 +256,59 @@ public class ErrorAnalysisWithNewton {
         return x; // Return the last approximation
     }
 
+    /**
+     * Quiet version of newtonsMethodWithPropagationError for repeated trials: draws the derivative error from
+     * the given generator (none when random is null) and prints nothing.
+     * @return The root, or NaN when the derivative became too small or the iteration did not converge.
+     */
+    static double newtonTrial(double a, double b, double c, double initialGuess, double initialError,
+                              double tolerance, int maxIterations, SplittableRandom random) {
+        double x = initialGuess + initialError;
+        for (int i = 0; i < maxIterations; i++) {
+            double fx = a * x * x + b * x + c;
+            double fpx = 2 * a * x + b;
+            if (random != null) {
+                fpx += (random.nextDouble() - 0.5) * initialError;
+            }
+            if (Math.abs(fpx) < tolerance) {
+                return Double.NaN;
+            }
+            double xNext = x - fx / fpx;
+            if (Math.abs(xNext - x) < tolerance) {
+                return xNext;
+            }
+            x = xNext;
+        }
+        return Double.NaN;
+    }
+
+    // value rounded to a multiple of 1 / scale; rint works on doubles, so unlike Math.round it cannot
+    // overflow a long at 19 or more digits, and a value too fine to round is left as it is
+    static double roundToScale(double value, double scale) {
+        double scaled = value * scale;
+        return Double.isFinite(scaled) ? Math.rint(scaled) / scale : value;
+    }
+
+    // Quiet version of newtonsMethodWithTruncationError; returns NaN instead of printing when it fails
+    static double truncationTrial(double a, double b, double c, double initialGuess, int digits,
+                                  double tolerance, int maxIterations) {
+        double scale = Math.pow(10, digits);
+        double x = initialGuess;
+        for (int i = 0; i < maxIterations; i++) {
+            double fx = a * x * x + b * x + c;
+            double fpx = roundToScale(2 * a * x + b, scale);
+            if (Math.abs(fpx) < tolerance) {
+                return Double.NaN;
+            }
+            double xNext = x - fx / fpx;
+            if (Math.abs(xNext - x) < tolerance) {
+                return xNext;
+            }
+            x = xNext;
+        }
+        return Double.NaN;
+    }
+
     // Analysis of Results
     private static void analyzeResults(double root, double truncationRoot, double propagationRoot) {
         System.out.println("\nAnalysis of Results:");
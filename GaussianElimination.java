@@ -1,7 +1,14 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 public class GaussianElimination {
 
+    // Matrices whose band is at most 1/BAND_RATIO of the size are solved with the banded LU
+    static final int BAND_RATIO = 4;
+
     // Function to perform Gaussian Elimination
     public static void gaussianElimination(double[][] matrix, double[] result) {
         int n = result.length;
@@ -35,19 +42,14 @@ public class GaussianElimination {
             for (int j = i + 1; j < n; j++) {
                 double factor = matrix[j][i] / matrix[i][i];
                 result[j] -= factor * result[i];
-                for (int k = i; k < n; k++) {
-                    matrix[j][k] -= factor * matrix[i][k];
-                }
+                VectorKernels.axpy(-factor, matrix[i], i, matrix[j], i, n - i);
             }
         }
 
         // Back Substitution
         double[] solution = new double[n];
         for (int i = n - 1; i >= 0; i--) {
-            double sum = 0;
-            for (int j = i + 1; j < n; j++) {
-                sum += matrix[i][j] * solution[j];
-            }
+            double sum = VectorKernels.dot(matrix[i], i + 1, solution, i + 1, n - i - 1);
             solution[i] = (result[i] - sum) / matrix[i][i];
         }
 
@@ -58,8 +60,142 @@ public class GaussianElimination {
         }
     }
 
+    /**
+     * Solves the system and returns the solution instead of printing it.
+     * Tridiagonal and narrow-banded matrices are detected and dispatched to the O(n) Thomas solver
+     * or the O(n * bandwidth^2) banded LU; everything else goes through the blocked dense LU.
+     */
+    public static double[] solve(double[][] matrix, double[] result) {
+        int n = result.length;
+        if (matrix.length == n && n > 2 && isSquare(matrix)) {
+            int[] band = bandwidths(matrix);
+            int kl = band[0];
+            int ku = band[1];
+            if (kl <= 1 && ku <= 1) {
+                return solveTridiagonal(matrix, result);
+            }
+            if (kl + ku + 1 <= n / BAND_RATIO) {
+                return solveBanded(matrix, kl, ku, result);
+            }
+        }
+        return BlockedLU.solve(matrix, result);
+    }
+
+    // Number of non-zero sub-diagonals and super-diagonals of a square matrix
+    public static int[] bandwidths(double[][] matrix) {
+        int n = matrix.length;
+        int kl = 0;
+        int ku = 0;
+        for (int i = 0; i < n; i++) {
+            double[] row = matrix[i];
+            for (int j = 0; j < i - kl; j++) {
+                if (row[j] != 0.0) {
+                    kl = i - j;
+                    break;
+                }
+            }
+            for (int j = n - 1; j > i + ku; j--) {
+                if (row[j] != 0.0) {
+                    ku = j - i;
+                    break;
+                }
+            }
+        }
+        return new int[]{kl, ku};
+    }
+
+    private static boolean isSquare(double[][] matrix) {
+        for (double[] row : matrix) {
+            if (row.length != matrix.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Solve a system whose non-zeros lie within kl sub-diagonals and ku super-diagonals
+    public static double[] solveBanded(double[][] matrix, int kl, int ku, double[] result) {
+        return BandedLU.factor(matrix, kl, ku).solve(result);
+    }
+
+    // Solve a tridiagonal system given as a dense matrix
+    static double[] solveTridiagonal(double[][] matrix, double[] result) {
+        int n = result.length;
+        double[] lower = new double[n];
+        double[] diag = new double[n];
+        double[] upper = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                lower[i] = matrix[i][i - 1];
+            }
+            diag[i] = matrix[i][i];
+            if (i < n - 1) {
+                upper[i] = matrix[i][i + 1];
+            }
+        }
+        return TridiagonalSolver.solve(lower, diag, upper, result);
+    }
+
+    // Solve a tridiagonal system given by its three diagonals in O(n)
+    public static double[] solveTridiagonal(double[] lower, double[] diag, double[] upper, double[] result) {
+        return TridiagonalSolver.solve(lower, diag, upper, result);
+    }
+
+    // Solve the system with the trailing-matrix updates spread across the common fork/join pool
+    public static double[] solveParallel(double[][] matrix, double[] result) {
+        return BlockedLU.solve(matrix, result, ForkJoinPool.commonPool(), BlockedLU.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // Factor in single precision and refine the solution to double accuracy
+    public static MixedPrecisionSolver.Result solveMixedPrecision(double[][] matrix, double[] result) {
+        return MixedPrecisionSolver.solve(matrix, result);
+    }
+
+    // Factor the matrix once so it can be solved against many result vectors
+    public static LUDecomposition factor(double[][] matrix) {
+        return new LUDecomposition(matrix);
+    }
+
+    // Solve a sparse system with a bandwidth-reducing ordering and banded LU
+    public static double[] solveSparse(SparseMatrix matrix, double[] result) {
+        return new SparseDirectSolver(matrix).solve(result);
+    }
+
+    /**
+     * Solves a system stored in a file and optionally writes the solution in binary.
+     * Files ending in .bin use the MatrixIO binary layout, anything else the text layout.
+     */
+    static void solveFile(Path input, Path output) throws IOException {
+        MatrixIO.LinearSystem system = input.toString().endsWith(".bin")
+                ? MatrixIO.readBinary(input)
+                : MatrixIO.readText(input);
+        double[] solution = BlockedLU.solveInPlace(system.matrix, system.n, system.result);
+        if (output != null) {
+            MatrixIO.writeSolution(output, solution);
+            System.out.println("Solution written to " + output);
+        } else {
+            System.out.println("Solution:");
+            for (int i = 0; i < system.n; i++) {
+                System.out.printf("x%d = %.6f%n", i + 1, solution[i]);
+            }
+        }
+    }
+
     // Main function to test Gaussian Elimination
+    // Usage: java GaussianElimination [input file [solution file]], or no arguments for console input
     public static void main(String[] args) {
+        if (args.length > 0) {
+            try {
+                solveFile(Paths.get(args[0]), args.length > 1 ? Paths.get(args[1]) : null);
+            } catch (IOException e) {
+                System.out.println("Could not read or write the system: " + e.getMessage());
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                // Singular systems, and matrices of the wrong shape for their result vector
+                System.out.println(e.getMessage());
+            }
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         // Input: number of variables
@@ -83,7 +219,15 @@ public class GaussianElimination {
         }
 
         // Solve using Gaussian Elimination
-        gaussianElimination(matrix, result);
+        try {
+            double[] solution = solve(matrix, result);
+            System.out.println("Solution:");
+            for (int i = 0; i < n; i++) {
+                System.out.printf("x%d = %.6f%n", i + 1, solution[i]);
+            }
+        } catch (ArithmeticException e) {
+            System.out.println(e.getMessage());
+        }
 
         scanner.close();
     }
@@ -0,0 +1,213 @@
+import java.util.Arrays;
+
+public class IterativeSolvers {
+
+    // Outcome of an iterative solve
+    public static class Result {
+        public final double[] solution;
+        public final int iterations;
+        public final double residualNorm;
+        public final boolean converged;
+
+        Result(double[] solution, int iterations, double residualNorm, boolean converged) {
+            this.solution = solution;
+            this.iterations = iterations;
+            this.residualNorm = residualNorm;
+            this.converged = converged;
+        }
+    }
+
+    /**
+     * Conjugate Gradient with Jacobi (diagonal) preconditioning.
+     * Requires a symmetric positive definite matrix. Each iteration costs one sparse
+     * matrix-vector product, so the work is proportional to the number of non-zeros.
+     * Stops when ||b - A x|| <= tolerance * ||b||.
+     */
+    public static Result conjugateGradient(SparseMatrix a, double[] b, double tolerance, int maxIterations) {
+        int n = checkSize(a, b);
+        double[] inverseDiagonal = jacobi(a);
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] z = new double[n];
+        double[] p = new double[n];
+        double[] ap = new double[n];
+
+        double target = tolerance * norm(b);
+        double residual = norm(r);
+        if (residual <= target) {
+            return new Result(x, 0, residual, true);
+        }
+
+        for (int i = 0; i < n; i++) {
+            z[i] = inverseDiagonal[i] * r[i];
+            p[i] = z[i];
+        }
+        double rz = dot(r, z);
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            a.multiply(p, ap);
+            double pap = dot(p, ap);
+            if (pap <= 0) {
+                throw new ArithmeticException("Matrix is not positive definite. Conjugate Gradient cannot continue.");
+            }
+            double alpha = rz / pap;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * p[i];
+                r[i] -= alpha * ap[i];
+            }
+            residual = norm(r);
+            if (residual <= target) {
+                return new Result(x, iteration, residual, true);
+            }
+            for (int i = 0; i < n; i++) {
+                z[i] = inverseDiagonal[i] * r[i];
+            }
+            double rzNext = dot(r, z);
+            double beta = rzNext / rz;
+            rz = rzNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+        return new Result(x, maxIterations, residual, false);
+    }
+
+    /**
+     * Restarted GMRES(restart) with right Jacobi preconditioning, for general non-symmetric matrices.
+     * The Krylov basis is kept to restart vectors, so memory is O(n * restart) on top of the matrix.
+     * Stops when ||b - A x|| <= tolerance * ||b||; maxIterations counts inner iterations.
+     */
+    public static Result gmres(SparseMatrix a, double[] b, int restart, double tolerance, int maxIterations) {
+        int n = checkSize(a, b);
+        if (restart < 1) {
+            throw new IllegalArgumentException("Restart length must be positive: " + restart);
+        }
+        double[] inverseDiagonal = jacobi(a);
+        double[] x = new double[n];
+        double[] r = new double[n];
+        double[] w = new double[n];
+        double[][] basis = new double[restart + 1][n];
+        double[][] h = new double[restart + 1][restart];
+        double[] cs = new double[restart];
+        double[] sn = new double[restart];
+        double[] g = new double[restart + 1];
+        double[] y = new double[restart];
+
+        double target = tolerance * norm(b);
+        int iteration = 0;
+        double residual;
+        while (true) {
+            // r = b - A x
+            a.multiply(x, r);
+            for (int i = 0; i < n; i++) {
+                r[i] = b[i] - r[i];
+            }
+            residual = norm(r);
+            if (residual <= target || iteration >= maxIterations) {
+                break;
+            }
+
+            for (int i = 0; i < n; i++) {
+                basis[0][i] = r[i] / residual;
+            }
+            Arrays.fill(g, 0.0);
+            g[0] = residual;
+
+            int k = 0;
+            while (k < restart && iteration < maxIterations) {
+                // w = A * M^-1 * v_k
+                double[] v = basis[k];
+                for (int i = 0; i < n; i++) {
+                    r[i] = inverseDiagonal[i] * v[i];
+                }
+                a.multiply(r, w);
+
+                // Modified Gram-Schmidt against the current basis
+                for (int j = 0; j <= k; j++) {
+                    h[j][k] = dot(w, basis[j]);
+                    double hjk = h[j][k];
+                    double[] vj = basis[j];
+                    for (int i = 0; i < n; i++) {
+                        w[i] -= hjk * vj[i];
+                    }
+                }
+                h[k + 1][k] = norm(w);
+                if (h[k + 1][k] != 0.0) {
+                    double scale = 1.0 / h[k + 1][k];
+                    double[] next = basis[k + 1];
+                    for (int i = 0; i < n; i++) {
+                        next[i] = w[i] * scale;
+                    }
+                }
+
+                // Apply the previous Givens rotations, then compute the new one
+                for (int j = 0; j < k; j++) {
+                    double t = cs[j] * h[j][k] + sn[j] * h[j + 1][k];
+                    h[j + 1][k] = -sn[j] * h[j][k] + cs[j] * h[j + 1][k];
+                    h[j][k] = t;
+                }
+                double denominator = Math.hypot(h[k][k], h[k + 1][k]);
+                cs[k] = h[k][k] / denominator;
+                sn[k] = h[k + 1][k] / denominator;
+                h[k][k] = denominator;
+                h[k + 1][k] = 0.0;
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+
+                k++;
+                iteration++;
+                if (Math.abs(g[k]) <= target) {
+                    break;
+                }
+            }
+
+            // Solve the k x k upper triangular system and update x = x + M^-1 * V * y
+            for (int i = k - 1; i >= 0; i--) {
+                double sum = g[i];
+                for (int j = i + 1; j < k; j++) {
+                    sum -= h[i][j] * y[j];
+                }
+                y[i] = sum / h[i][i];
+            }
+            for (int j = 0; j < k; j++) {
+                double yj = y[j];
+                double[] vj = basis[j];
+                for (int i = 0; i < n; i++) {
+                    x[i] += inverseDiagonal[i] * yj * vj[i];
+                }
+            }
+        }
+        return new Result(x, iteration, residual, residual <= target);
+    }
+
+    // Inverse of the diagonal, used as the Jacobi preconditioner
+    static double[] jacobi(SparseMatrix a) {
+        double[] d = a.diagonal();
+        for (int i = 0; i < d.length; i++) {
+            if (d[i] == 0.0) {
+                throw new ArithmeticException("Zero on the diagonal at row " + i + ". Jacobi preconditioning is not possible.");
+            }
+            d[i] = 1.0 / d[i];
+        }
+        return d;
+    }
+
+    static double dot(double[] x, double[] y) {
+        double sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+
+    private static int checkSize(SparseMatrix a, double[] b) {
+        if (b.length != a.n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + a.n);
+        }
+        return a.n;
+    }
+}
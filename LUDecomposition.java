@@ -0,0 +1,143 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class LUDecomposition {
+
+    // Number of right-hand sides substituted together so each row of the factors is read once per group
+    static final int RHS_GROUP_SIZE = 8;
+
+    private final int n;
+    private final double[] lu;
+    private final int[] piv;
+    private final ForkJoinPool pool;
+
+    /**
+     * Factors the matrix once so it can be solved against many right-hand sides.
+     * The matrix is copied; the caller's array is not modified.
+     * @throws ArithmeticException if the matrix is singular or nearly singular.
+     */
+    public LUDecomposition(double[][] matrix) {
+        this(matrix, null, BlockedLU.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Factors the matrix using the given pool for the trailing updates.
+     * The same pool is used later to spread batch solves across groups of right-hand sides.
+     * @param pool The pool to run on, or null to stay sequential.
+     * @param parallelThreshold Minimum number of trailing rows per parallel factorization task.
+     */
+    public LUDecomposition(double[][] matrix, ForkJoinPool pool, int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive: " + parallelThreshold);
+        }
+        n = matrix.length;
+        lu = BlockedLU.flatten(matrix, n);
+        piv = new int[n];
+        this.pool = pool;
+        if (!BlockedLU.factor(lu, n, piv, pool, parallelThreshold)) {
+            throw new ArithmeticException("Matrix is singular or nearly singular. No unique solution.");
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    // Solve A * x = b for one right-hand side in O(n^2)
+    public double[] solve(double[] b) {
+        checkLength(b);
+        double[] x = b.clone();
+        BlockedLU.substitute(lu, n, piv, x);
+        return x;
+    }
+
+    /**
+     * Solves A * x = B[r] for every right-hand side B[r].
+     * Right-hand sides are processed in groups so each row of L and U is loaded once per group.
+     * When the decomposition was created with a pool, the groups are solved in parallel.
+     * @return One solution vector per right-hand side, in the same order as B.
+     */
+    public double[][] solve(double[][] B) {
+        double[][] X = new double[B.length][];
+        for (int r = 0; r < B.length; r++) {
+            checkLength(B[r]);
+            X[r] = B[r].clone();
+        }
+        if (pool == null || X.length <= RHS_GROUP_SIZE) {
+            for (int g = 0; g < X.length; g += RHS_GROUP_SIZE) {
+                substituteGroup(X, g, Math.min(g + RHS_GROUP_SIZE, X.length));
+            }
+        } else {
+            pool.invoke(new BatchSubstitution(X, 0, X.length));
+        }
+        return X;
+    }
+
+    // Fork/join task that splits a batch of right-hand sides down to single groups
+    class BatchSubstitution extends RecursiveAction {
+        private final double[][] X;
+        private final int from, to;
+
+        BatchSubstitution(double[][] X, int from, int to) {
+            this.X = X;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= RHS_GROUP_SIZE) {
+                substituteGroup(X, from, to);
+                return;
+            }
+            // Split on a group boundary so every task keeps full groups
+            int mid = from + ((to - from) / RHS_GROUP_SIZE / 2) * RHS_GROUP_SIZE;
+            if (mid == from) {
+                mid = from + RHS_GROUP_SIZE;
+            }
+            invokeAll(new BatchSubstitution(X, from, mid), new BatchSubstitution(X, mid, to));
+        }
+    }
+
+    // Forward and back substitution for the vectors X[from..to) in place
+    void substituteGroup(double[][] X, int from, int to) {
+        // Apply the row permutation
+        for (int i = 0; i < n; i++) {
+            int p = piv[i];
+            if (p != i) {
+                for (int r = from; r < to; r++) {
+                    double[] x = X[r];
+                    double t = x[i];
+                    x[i] = x[p];
+                    x[p] = t;
+                }
+            }
+        }
+
+        // Forward substitution with unit lower triangular L
+        for (int i = 1; i < n; i++) {
+            int rowI = i * n;
+            for (int r = from; r < to; r++) {
+                double[] x = X[r];
+                x[i] -= VectorKernels.dot(lu, rowI, x, 0, i);
+            }
+        }
+
+        // Back substitution with U
+        for (int i = n - 1; i >= 0; i--) {
+            int rowI = i * n;
+            double pivot = lu[rowI + i];
+            for (int r = from; r < to; r++) {
+                double[] x = X[r];
+                double sum = VectorKernels.dot(lu, rowI + i + 1, x, i + 1, n - i - 1);
+                x[i] = (x[i] - sum) / pivot;
+            }
+        }
+    }
+
+    private void checkLength(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+    }
+}
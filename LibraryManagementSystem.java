@@ -1,16 +1,68 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32C;
+
+// Outcome of a borrow or return
+enum LoanResult {
+    SUCCESS, ALREADY_BORROWED, NOT_BORROWED, NOT_FOUND
+}
 
 // Book Class
 class Book {
-    private String title;
-    private String author;
-    private boolean isBorrowed;
+    private final String title;
+    private final String author;
+    // Assigned by Library.addBook; -1 until then
+    private volatile int id = -1;
+    // Loan version: even while on the shelf, odd while borrowed, and every borrow or return adds one.
+    // Changed only by compare-and-set, so two clients can never both borrow the same copy
+    private final AtomicInteger loans;
 
     public Book(String title, String author) {
+        this(-1, title, author, 0);
+    }
+
+    // A book restored from a snapshot or journal with its id and loan version
+    Book(int id, String title, String author, int loans) {
         this.title = title;
         this.author = author;
-        this.isBorrowed = false;
+        this.id = id;
+        this.loans = new AtomicInteger(loans);
     }
 
     public String getTitle() {
@@ -21,116 +73,1543 @@ class Book {
         return author;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     public boolean isBorrowed() {
-        return isBorrowed;
+        return (loans.get() & 1) != 0;
     }
 
-    public void borrowBook() {
-        if (!isBorrowed) {
-            isBorrowed = true;
-            System.out.println("You have successfully borrowed " + title);
-        } else {
-            System.out.println("Sorry, this book is currently borrowed.");
+    int loanVersion() {
+        return loans.get();
+    }
+
+    // New loan version, or -1 if the book is already borrowed
+    int borrow() {
+        return advance(0);
+    }
+
+    // New loan version, or -1 if the book was not borrowed
+    int giveBack() {
+        return advance(1);
+    }
+
+    private int advance(int parity) {
+        while (true) {
+            int version = loans.get();
+            if ((version & 1) != parity) {
+                return -1;
+            }
+            if (loans.compareAndSet(version, version + 1)) {
+                return version + 1;
+            }
         }
     }
 
-    public void returnBook() {
-        if (isBorrowed) {
-            isBorrowed = false;
-            System.out.println("You have successfully returned " + title);
-        } else {
-            System.out.println("This book wasn't borrowed.");
+    // Move forward to a logged loan version; older versions are ignored, so replay order does not matter
+    void restoreLoanVersion(int version) {
+        int current = loans.get();
+        while (current < version && !loans.compareAndSet(current, version)) {
+            current = loans.get();
         }
     }
 }
 
-// Library Class
+// Library Class, safe for any number of concurrent clients without a global lock
 class Library {
-    private ArrayList<Book> books;
+    private final ConcurrentHashMap<Integer, Book> idIndex;
+    // Ids of the catalogued books that are on the shelf
+    private final AvailabilityBitmap available;
+    // Catalogued books, and how many of them are borrowed; changed on every transition
+    private final AtomicInteger catalogued;
+    private final AtomicInteger borrowed;
+    // Case-folded title -> first book added with that title, so lookups match the old first-match scan
+    private final ConcurrentHashMap<String, Book> titleIndex;
+    // Case-folded author -> that author's books in the order they were added
+    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<Book>> authorIndex;
+    private final BookSearchIndex searchIndex;
+    private final AtomicInteger nextId;
+    // Journal that every change is made durable in before it is reported, or null to keep the library in memory
+    private volatile LibraryJournal journal;
 
     public Library() {
-        books = new ArrayList<>();
+        available = new AvailabilityBitmap();
+        catalogued = new AtomicInteger();
+        borrowed = new AtomicInteger();
+        idIndex = new ConcurrentHashMap<>();
+        titleIndex = new ConcurrentHashMap<>();
+        authorIndex = new ConcurrentHashMap<>();
+        searchIndex = new BookSearchIndex();
+        nextId = new AtomicInteger();
     }
 
-    public void addBook(Book book) {
-        books.add(book);
-        System.out.println(book.getTitle() + " added to the library.");
+    void attach(LibraryJournal journal) {
+        this.journal = journal;
     }
 
-    public void showAvailableBooks() {
-        System.out.println("Available Books:");
-        for (Book book : books) {
-            if (!book.isBorrowed()) {
-                System.out.println(book.getTitle() + " by " + book.getAuthor());
-            }
+    // Key for case-insensitive lookups, folding the same way equalsIgnoreCase compares characters
+    static String fold(String text) {
+        return text.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    // Adds the book under the next free id and returns that id
+    public int addBook(Book book) {
+        if (book.getId() >= 0) {
+            throw new IllegalArgumentException("Book already has id " + book.getId() + ": " + book.getTitle());
+        }
+        int id = nextId.getAndIncrement();
+        book.setId(id);
+        // Registered by id before it is journaled, so a snapshot taken after the record was logged includes it
+        idIndex.put(id, book);
+        LibraryJournal log = journal;
+        if (log != null) {
+            // Durable before it can be found by title, so no borrow of it can reach the journal first
+            log.commit(log.appendAdd(id, book.getTitle(), book.getAuthor()));
+        }
+        index(book);
+        return id;
+    }
+
+    // Add a recovered book under its own id without journaling it again
+    void restore(Book book) {
+        int id = book.getId();
+        nextId.accumulateAndGet(id + 1, Math::max);
+        if (idIndex.putIfAbsent(id, book) == null) {
+            index(book);
         }
     }
 
-    public void borrowBook(String title) {
-        for (Book book : books) {
-            if (book.getTitle().equalsIgnoreCase(title)) {
-                book.borrowBook();
+    private void index(Book book) {
+        if (book.isBorrowed()) {
+            borrowed.incrementAndGet();
+        }
+        catalogued.incrementAndGet();
+        updateAvailability(book);
+        titleIndex.putIfAbsent(fold(book.getTitle()), book);
+        authorIndex.computeIfAbsent(fold(book.getAuthor()), key -> new ConcurrentLinkedQueue<>()).add(book);
+        searchIndex.add(book);
+    }
+
+    public Book findById(int id) {
+        return idIndex.get(id);
+    }
+
+    public int size() {
+        return idIndex.size();
+    }
+
+    // Id the next added book will get
+    int nextId() {
+        return nextId.get();
+    }
+
+    // Move a recovered book forward to a logged loan version, keeping the counts and availability in step
+    void restoreLoan(int id, int version) {
+        Book book = idIndex.get(id);
+        if (book == null) {
+            return;
+        }
+        boolean wasBorrowed = book.isBorrowed();
+        book.restoreLoanVersion(version);
+        if (book.isBorrowed() != wasBorrowed) {
+            borrowed.addAndGet(wasBorrowed ? -1 : 1);
+        }
+        updateAvailability(book);
+    }
+
+    // Make sure ids below next are never handed out again, even those of books that are gone
+    void reserveIds(int next) {
+        nextId.accumulateAndGet(next, Math::max);
+    }
+
+    // Book with the given title, ignoring case, or null
+    public Book findByTitle(String title) {
+        return titleIndex.get(fold(title));
+    }
+
+    // Snapshot of the books by the given author, ignoring case
+    public List<Book> findByAuthor(String author) {
+        ConcurrentLinkedQueue<Book> found = authorIndex.get(fold(author));
+        return found == null ? Collections.emptyList() : new ArrayList<>(found);
+    }
+
+    // Ranked page of the books whose title and author contain every word of the query, the last as a prefix
+    public SearchPage search(String query, int offset, int limit) {
+        return searchIndex.search(query, offset, limit, this::findById);
+    }
+
+    // Indexed title and author words starting with prefix, most common first
+    public List<String> autocomplete(String prefix, int limit) {
+        return searchIndex.complete(prefix, limit);
+    }
+
+    public int availableCount() {
+        return catalogued.get() - borrowed.get();
+    }
+
+    public int borrowedCount() {
+        return borrowed.get();
+    }
+
+    /**
+     * Sets the book's availability bit from its loan version, and again if a concurrent borrow or return
+     * moved the version meanwhile; the last transition of a book always leaves its bit right.
+     */
+    private void updateAvailability(Book book) {
+        int id = book.getId();
+        while (true) {
+            int version = book.loanVersion();
+            available.set(id, (version & 1) == 0);
+            if (book.loanVersion() == version) {
                 return;
             }
         }
-        System.out.println("Book not found.");
     }
 
-    public void returnBook(String title) {
-        for (Book book : books) {
-            if (book.getTitle().equalsIgnoreCase(title)) {
-                book.returnBook();
+    // Streams the available books in id order without building the list
+    public Iterator<Book> availableBooks(int fromId) {
+        return new Iterator<Book>() {
+            private Book next = advance(fromId);
+
+            private Book advance(int from) {
+                for (int id = available.nextSetBit(from); id >= 0; id = available.nextSetBit(id + 1)) {
+                    Book book = idIndex.get(id);
+                    if (book != null) {
+                        return book;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Book next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Book current = next;
+                next = advance(current.getId() + 1);
+                return current;
+            }
+        };
+    }
+
+    // Up to limit available books with ids from fromId on; pass the last id + 1 to get the next page
+    public List<Book> availableBooks(int fromId, int limit) {
+        List<Book> page = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<Book> books = availableBooks(fromId);
+        while (page.size() < limit && books.hasNext()) {
+            page.add(books.next());
+        }
+        return page;
+    }
+
+    public void showAvailableBooks() {
+        System.out.println("Available Books (" + availableCount() + " of " + catalogued.get() + "):");
+        Iterator<Book> books = availableBooks(0);
+        while (books.hasNext()) {
+            Book book = books.next();
+            System.out.println(book.getTitle() + " by " + book.getAuthor());
+        }
+    }
+
+    public LoanResult borrowBook(String title) {
+        Book book = findByTitle(title);
+        if (book == null) {
+            return LoanResult.NOT_FOUND;
+        }
+        int version = book.borrow();
+        if (version < 0) {
+            return LoanResult.ALREADY_BORROWED;
+        }
+        borrowed.incrementAndGet();
+        updateAvailability(book);
+        journalLoan(LibraryJournal.BORROW, book, version);
+        return LoanResult.SUCCESS;
+    }
+
+    public LoanResult returnBook(String title) {
+        Book book = findByTitle(title);
+        if (book == null) {
+            return LoanResult.NOT_FOUND;
+        }
+        int version = book.giveBack();
+        if (version < 0) {
+            return LoanResult.NOT_BORROWED;
+        }
+        borrowed.decrementAndGet();
+        updateAvailability(book);
+        journalLoan(LibraryJournal.RETURN, book, version);
+        return LoanResult.SUCCESS;
+    }
+
+    // The record carries the new loan version, so concurrent loans may reach the journal in either order
+    private void journalLoan(byte type, Book book, int version) {
+        LibraryJournal log = journal;
+        if (log != null) {
+            log.commit(log.appendLoan(type, book.getId(), version));
+        }
+    }
+}
+
+/**
+ * Growable bitset indexed by book id, one bit per id, in pages of PAGE_BITS bits.
+ * Bits are set and cleared with atomic word updates and pages are added by copying the small page
+ * directory, so readers never lock. nextSetBit skips whole empty words, and pages that were never
+ * touched, so scanning a mostly borrowed catalog stays cheap.
+ */
+final class AvailabilityBitmap {
+
+    static final int PAGE_SHIFT = 16;
+    static final int PAGE_BITS = 1 << PAGE_SHIFT;
+
+    private volatile AtomicLongArray[] pages = new AtomicLongArray[0];
+
+    void set(int id, boolean value) {
+        AtomicLongArray page = page(id >>> PAGE_SHIFT);
+        int word = (id & (PAGE_BITS - 1)) >>> 6;
+        long bit = 1L << id;
+        while (true) {
+            long current = page.get(word);
+            long updated = value ? current | bit : current & ~bit;
+            if (current == updated || page.compareAndSet(word, current, updated)) {
                 return;
             }
         }
-        System.out.println("Book not found.");
+    }
+
+    boolean get(int id) {
+        AtomicLongArray[] directory = pages;
+        int p = id >>> PAGE_SHIFT;
+        if (p >= directory.length || directory[p] == null) {
+            return false;
+        }
+        return (directory[p].get((id & (PAGE_BITS - 1)) >>> 6) & (1L << id)) != 0;
+    }
+
+    // Smallest set id >= from, or -1
+    int nextSetBit(int from) {
+        if (from < 0) {
+            throw new IllegalArgumentException("Id must not be negative: " + from);
+        }
+        AtomicLongArray[] directory = pages;
+        for (int p = from >>> PAGE_SHIFT; p < directory.length; p++) {
+            AtomicLongArray page = directory[p];
+            if (page == null) {
+                continue;
+            }
+            int start = p == from >>> PAGE_SHIFT ? from & (PAGE_BITS - 1) : 0;
+            for (int word = start >>> 6; word < page.length(); word++) {
+                long bits = page.get(word);
+                if (word == start >>> 6) {
+                    bits &= -1L << start;
+                }
+                if (bits != 0) {
+                    return (p << PAGE_SHIFT) + (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private AtomicLongArray page(int p) {
+        AtomicLongArray[] directory = pages;
+        if (p < directory.length && directory[p] != null) {
+            return directory[p];
+        }
+        synchronized (this) {
+            directory = pages;
+            if (p >= directory.length) {
+                directory = Arrays.copyOf(directory, Math.max(p + 1, 2 * directory.length));
+            } else if (directory[p] != null) {
+                return directory[p];
+            } else {
+                directory = directory.clone();
+            }
+            directory[p] = new AtomicLongArray(PAGE_BITS / 64);
+            pages = directory;
+            return directory[p];
+        }
+    }
+}
+
+/**
+ * Append-only binary journal of Library changes, kept as numbered segment files journal-<n>.log in one directory.
+ * Every record is framed as a little-endian payload length and CRC32C, then the payload: record type, book id,
+ * loan version, and for ADD the UTF-8 title and author. Replay stops at the first torn or corrupt frame.
+ * Appending only copies the record into a memory buffer. commit(seq) returns once the record numbered seq is on
+ * disk: the first committer to find no flush running writes the whole buffer and calls FileChannel.force once,
+ * and every record in that batch becomes durable together, so concurrent clients share one force per batch.
+ */
+final class LibraryJournal implements Closeable {
+
+    static final byte ADD = 1;
+    static final byte BORROW = 2;
+    static final byte RETURN = 3;
+
+    // Length and CRC in front of every payload
+    static final int FRAME_BYTES = 8;
+
+    // Type, id and loan version
+    static final int LOAN_BYTES = 9;
+
+    private final Path directory;
+    private final long fullBytes;
+    private final Object lock = new Object();
+    private final CRC32C crc = new CRC32C();
+    private FileChannel channel;
+    private long segment;
+    private long segmentBytes;
+    // Records appended but not yet written; swapped with spare while a batch is flushed
+    private ByteBuffer pending = newBuffer(1 << 16);
+    private ByteBuffer spare = newBuffer(1 << 16);
+    private long appended;
+    private long durable;
+    private boolean flushing;
+    private boolean full;
+    private IOException failure;
+    // Called once per segment when it grows past fullBytes
+    private Runnable onFull;
+
+    // Start a new, empty segment with the given number
+    LibraryJournal(Path directory, long segment, long fullBytes) throws IOException {
+        this.directory = directory;
+        this.fullBytes = fullBytes;
+        this.segment = segment;
+        this.channel = openSegment(directory, segment);
+    }
+
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve("journal-" + segment + ".log");
+    }
+
+    private static FileChannel openSegment(Path directory, long segment) throws IOException {
+        return FileChannel.open(segmentPath(directory, segment), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    void onFull(Runnable action) {
+        synchronized (lock) {
+            onFull = action;
+        }
+    }
+
+    // Number of the segment new records go to
+    long segment() {
+        synchronized (lock) {
+            return segment;
+        }
+    }
+
+    // Sequence number of the record, for commit
+    long appendAdd(int id, String title, String author) {
+        byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+        byte[] authorBytes = author.getBytes(StandardCharsets.UTF_8);
+        synchronized (lock) {
+            ByteBuffer buffer = reserve(LOAN_BYTES + 8 + titleBytes.length + authorBytes.length);
+            buffer.put(ADD).putInt(id).putInt(0)
+                    .putInt(titleBytes.length).put(titleBytes)
+                    .putInt(authorBytes.length).put(authorBytes);
+            return seal(buffer);
+        }
+    }
+
+    long appendLoan(byte type, int id, int version) {
+        synchronized (lock) {
+            ByteBuffer buffer = reserve(LOAN_BYTES);
+            buffer.put(type).putInt(id).putInt(version);
+            return seal(buffer);
+        }
+    }
+
+    // Room for one frame in pending, with the frame header skipped; caller holds lock
+    private ByteBuffer reserve(int payload) {
+        int needed = FRAME_BYTES + payload;
+        if (pending.remaining() < needed) {
+            ByteBuffer bigger = newBuffer(Math.max(2 * pending.capacity(), pending.position() + needed));
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+        pending.mark();
+        pending.position(pending.position() + FRAME_BYTES);
+        return pending;
+    }
+
+    // Fill in the frame header of the payload just written; caller holds lock
+    private long seal(ByteBuffer buffer) {
+        int end = buffer.position();
+        buffer.reset();
+        int start = buffer.position();
+        int length = end - start - FRAME_BYTES;
+        crc.reset();
+        crc.update(buffer.array(), start + FRAME_BYTES, length);
+        buffer.putInt(length).putInt((int) crc.getValue());
+        buffer.position(end);
+        return ++appended;
+    }
+
+    /**
+     * Waits until record seq is on disk, flushing the current batch if no other thread is.
+     * @throws UncheckedIOException if a write or force failed; the journal accepts nothing after that.
+     */
+    void commit(long seq) {
+        ByteBuffer batch;
+        long upTo;
+        synchronized (lock) {
+            while (true) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Library journal failed", failure);
+                }
+                if (durable >= seq) {
+                    return;
+                }
+                if (!flushing) {
+                    break;
+                }
+                try {
+                    awaitFlush();
+                } catch (InterruptedIOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            // Take everything appended so far as one batch; later appends go to the spare buffer
+            flushing = true;
+            batch = pending;
+            pending = spare;
+            upTo = appended;
+        }
+        Runnable notify = null;
+        IOException error = null;
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            error = e;
+        }
+        synchronized (lock) {
+            flushing = false;
+            segmentBytes += batch.limit();
+            batch.clear();
+            spare = batch;
+            if (error != null) {
+                failure = error;
+            } else {
+                durable = upTo;
+                if (!full && segmentBytes >= fullBytes && onFull != null) {
+                    full = true;
+                    notify = onFull;
+                }
+            }
+            lock.notifyAll();
+        }
+        if (error != null) {
+            throw new UncheckedIOException("Library journal failed", error);
+        }
+        if (notify != null) {
+            notify.run();
+        }
+    }
+
+    // Wait for a running flush to finish; caller holds lock
+    private void awaitFlush() throws InterruptedIOException {
+        while (flushing) {
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for the journal");
+            }
+        }
+    }
+
+    /**
+     * Makes every appended record durable, closes the current segment and starts the next one.
+     * @return The number of the new segment; all records before it are in older, now immutable segments.
+     */
+    long rotate() throws IOException {
+        synchronized (lock) {
+            awaitFlush();
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                pending.flip();
+                while (pending.hasRemaining()) {
+                    channel.write(pending);
+                }
+                pending.clear();
+                channel.force(false);
+                channel.close();
+                segment++;
+                channel = openSegment(directory, segment);
+            } catch (IOException e) {
+                failure = e;
+                lock.notifyAll();
+                throw e;
+            }
+            durable = appended;
+            segmentBytes = 0;
+            full = false;
+            lock.notifyAll();
+            return segment;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            awaitFlush();
+            try {
+                if (failure == null) {
+                    pending.flip();
+                    while (pending.hasRemaining()) {
+                        channel.write(pending);
+                    }
+                    pending.clear();
+                    channel.force(false);
+                    durable = appended;
+                }
+            } finally {
+                failure = failure == null ? new IOException("Library journal is closed") : failure;
+                channel.close();
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Numbers of the segment files in directory, oldest first
+    static List<Long> segments(Path directory) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "journal-*.log")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring("journal-".length(), name.length() - ".log".length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    /**
+     * Replays one segment into library through a read-only mapping of the file.
+     * Adds restore books under their logged ids and loans move a book forward to the logged loan version,
+     * so records already reflected in a snapshot are harmless.
+     * @return The length of the intact prefix of the file; anything after it is a torn write.
+     */
+    static long replay(Path file, Library library) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal segment too large to map: " + file);
+            }
+            MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C check = new CRC32C();
+            while (map.remaining() >= FRAME_BYTES) {
+                int start = map.position();
+                int length = map.getInt();
+                int expected = map.getInt();
+                if (length < LOAN_BYTES || length > map.remaining()) {
+                    return start;
+                }
+                ByteBuffer payload = map.slice(map.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+                check.reset();
+                check.update(payload.duplicate());
+                if ((int) check.getValue() != expected) {
+                    return start;
+                }
+                apply(payload, library);
+                map.position(map.position() + length);
+            }
+            return map.position();
+        }
+    }
+
+    private static void apply(ByteBuffer payload, Library library) {
+        byte type = payload.get();
+        int id = payload.getInt();
+        int version = payload.getInt();
+        if (type == ADD) {
+            String title = readString(payload);
+            String author = readString(payload);
+            library.restore(new Book(id, title, author, 0));
+        } else {
+            library.restoreLoan(id, version);
+        }
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
+
+/**
+ * A Library kept durable in one directory as a compacted snapshot plus the LibraryJournal segments written since.
+ * snapshot.bin holds, little-endian, the magic, format version, first journal segment not folded into it,
+ * next book id and book count, then per book its id, loan version, title and author. It is written to a
+ * temporary file, forced, and renamed over the old one, so a crash leaves either the old or the new snapshot.
+ * open() maps the snapshot read-only, rebuilds the books from it, and replays only the segments from the one it
+ * names onwards, truncating a torn write at the end of the log.
+ * A new snapshot is taken in the background whenever the current segment passes SNAPSHOT_BYTES, and on close,
+ * after which the segments it covers are deleted.
+ */
+class LibraryStore implements Closeable {
+
+    // Magic number at the start of a snapshot ("LIBS")
+    static final int SNAPSHOT_MAGIC = 0x4C494253;
+    static final int SNAPSHOT_VERSION = 1;
+    static final int SNAPSHOT_HEADER_BYTES = 24;
+
+    // Journal bytes after which a background snapshot is started
+    static final long SNAPSHOT_BYTES = 64L << 20;
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private final Path directory;
+    private final Library library;
+    private final LibraryJournal journal;
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+    private boolean closed;
+
+    private LibraryStore(Path directory, Library library, LibraryJournal journal) {
+        this.directory = directory;
+        this.library = library;
+        this.journal = journal;
+    }
+
+    public static LibraryStore open(Path directory) throws IOException {
+        return open(directory, SNAPSHOT_BYTES);
+    }
+
+    /**
+     * Recovers the library stored in directory, creating the directory if needed, and journals every
+     * later change to it.
+     * @param snapshotBytes Journal segment size that triggers a background snapshot.
+     */
+    public static LibraryStore open(Path directory, long snapshotBytes) throws IOException {
+        Files.createDirectories(directory);
+        Library library = new Library();
+        long first = readSnapshot(directory.resolve(SNAPSHOT_FILE), library);
+        long next = first;
+        for (long segment : LibraryJournal.segments(directory)) {
+            if (segment < first) {
+                // Left behind by a crash between a snapshot and the clean-up after it
+                Files.deleteIfExists(LibraryJournal.segmentPath(directory, segment));
+                continue;
+            }
+            Path file = LibraryJournal.segmentPath(directory, segment);
+            long intact = LibraryJournal.replay(file, library);
+            if (intact < Files.size(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(intact);
+                    channel.force(true);
+                }
+            }
+            next = segment + 1;
+        }
+        // Never append to a recovered segment: new records start a fresh one
+        LibraryJournal journal = new LibraryJournal(directory, next, snapshotBytes);
+        LibraryStore store = new LibraryStore(directory, library, journal);
+        library.attach(journal);
+        journal.onFull(store::snapshotInBackground);
+        return store;
+    }
+
+    public Library library() {
+        return library;
+    }
+
+    // Rebuild the books in the snapshot into library; returns the first segment to replay, 0 without a snapshot
+    static long readSnapshot(Path file, Library library) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + file);
+            }
+            MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if (size < SNAPSHOT_HEADER_BYTES || map.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a library snapshot: " + file);
+            }
+            int version = map.getInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            long first = map.getLong();
+            int nextId = map.getInt();
+            int count = map.getInt();
+            for (int k = 0; k < count; k++) {
+                int id = map.getInt();
+                int loans = map.getInt();
+                String title = LibraryJournal.readString(map);
+                String author = LibraryJournal.readString(map);
+                library.restore(new Book(id, title, author, loans));
+            }
+            library.reserveIds(nextId);
+            return first;
+        }
+    }
+
+    /**
+     * Writes a new snapshot of the library and deletes the journal segments it replaces.
+     * The journal moves to a new segment first, so every change in the older segments is already applied
+     * in memory when the books are read; changes racing with the snapshot may land in both the snapshot
+     * and the new segment, which replay tolerates.
+     */
+    public synchronized void snapshot() throws IOException {
+        if (closed) {
+            throw new IOException("Library store is closed");
+        }
+        long first = journal.rotate();
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.position(SNAPSHOT_HEADER_BYTES);
+            int nextId = library.nextId();
+            int count = 0;
+            for (int id = 0; id < nextId; id++) {
+                Book book = library.findById(id);
+                if (book == null) {
+                    continue;
+                }
+                byte[] title = book.getTitle().getBytes(StandardCharsets.UTF_8);
+                byte[] author = book.getAuthor().getBytes(StandardCharsets.UTF_8);
+                int needed = 16 + title.length + author.length;
+                if (buffer.remaining() < needed) {
+                    drain(out, buffer);
+                    if (buffer.remaining() < needed) {
+                        ByteBuffer bigger = ByteBuffer.allocate(needed).order(ByteOrder.LITTLE_ENDIAN);
+                        bigger.putInt(id).putInt(book.loanVersion())
+                                .putInt(title.length).put(title).putInt(author.length).put(author);
+                        drain(out, bigger);
+                        count++;
+                        continue;
+                    }
+                }
+                buffer.putInt(id).putInt(book.loanVersion())
+                        .putInt(title.length).put(title).putInt(author.length).put(author);
+                count++;
+            }
+            drain(out, buffer);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(first).putInt(nextId).putInt(count);
+            buffer.flip();
+            long position = 0;
+            while (buffer.hasRemaining()) {
+                position += out.write(buffer, position);
+            }
+            out.force(true);
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        List<Long> segments = LibraryJournal.segments(directory);
+        for (long segment : segments) {
+            if (segment < first) {
+                Files.deleteIfExists(LibraryJournal.segmentPath(directory, segment));
+            }
+        }
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Called by the journal thread that filled a segment; the snapshot itself runs on the common pool
+    private void snapshotInBackground() {
+        if (!snapshotting.compareAndSet(false, true)) {
+            return;
+        }
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                System.err.println("Library snapshot failed: " + e.getMessage());
+            } finally {
+                snapshotting.set(false);
+            }
+        });
+    }
+
+    // Takes a final snapshot, so the next open has no journal to replay, and closes the journal
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            snapshot();
+        } finally {
+            closed = true;
+            journal.close();
+        }
+    }
+}
+
+// One page of ranked search results
+class SearchPage {
+    // Number of books matching the whole query
+    public final int total;
+    public final List<Book> books;
+    // Score of each book on the page, best first
+    public final double[] scores;
+
+    SearchPage(int total, List<Book> books, double[] scores) {
+        this.total = total;
+        this.books = books;
+        this.scores = scores;
+    }
+}
+
+/**
+ * Full-text index over book titles and authors.
+ * Text is case-folded like Library.fold and split into runs of letters and digits. Each term maps to its
+ * postings, the ids of the books containing it sorted by id with the fields it occurs in, and every term is
+ * also kept in a prefix trie whose nodes know the highest document frequency below them, so completions come
+ * out most frequent first without visiting the rest of the subtree.
+ * A query matches books containing all of its terms, the last one read as a prefix unless the query ends
+ * in a space. Candidates come from the rarest term and are checked against the others by binary search,
+ * so a query costs about the size of its rarest postings list, not the size of the catalog. A prefix counts
+ * as rare as all of its completions together, which each trie node keeps a total of; it is only expanded
+ * when it is the rarest, and otherwise checked against the terms of each candidate book.
+ * Scores add up, per query term, its idf log(1 + N / df) times TITLE_WEIGHT and AUTHOR_WEIGHT for the fields
+ * it occurs in, scaled by PREFIX_WEIGHT when it only matched as a prefix.
+ */
+final class BookSearchIndex {
+
+    static final double TITLE_WEIGHT = 2;
+    static final double AUTHOR_WEIGHT = 1;
+    static final double PREFIX_WEIGHT = 0.5;
+
+    static final int TITLE = 1;
+    static final int AUTHOR = 2;
+
+    private final ConcurrentHashMap<String, Postings> terms = new ConcurrentHashMap<>();
+    // Guards the trie; taken for writing once per added book
+    private final ReentrantReadWriteLock trieLock = new ReentrantReadWriteLock();
+    private final TrieNode root = new TrieNode();
+    private final AtomicInteger documents = new AtomicInteger();
+
+    // Ids of the books containing one term, sorted, with a TITLE | AUTHOR mask per book
+    static final class Postings {
+        final String term;
+        private int[] ids = new int[4];
+        private byte[] fields = new byte[4];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        // Returns true if the book was not listed yet
+        synchronized boolean add(int id, int mask) {
+            int at = size;
+            // Books are indexed in roughly increasing id order, so the insertion point is almost always the end
+            while (at > 0 && ids[at - 1] > id) {
+                at--;
+            }
+            if (at > 0 && ids[at - 1] == id) {
+                fields[at - 1] |= mask;
+                return false;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * size);
+                fields = Arrays.copyOf(fields, 2 * size);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(fields, at, fields, at + 1, size - at);
+            ids[at] = id;
+            fields[at] = (byte) mask;
+            size++;
+            return true;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        // Field mask of the book, or 0 if it does not contain the term
+        synchronized int fields(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            return at < 0 ? 0 : fields[at];
+        }
+
+        // Append (id, score) pairs for every book, packed as in pack
+        synchronized int collect(long[] out, int count, double idf, double weight) {
+            for (int k = 0; k < size; k++) {
+                out[count++] = pack(ids[k], idf * weight * fieldWeight(fields[k]));
+            }
+            return count;
+        }
+    }
+
+    static final class TrieNode {
+        char[] keys = new char[0];
+        TrieNode[] children = new TrieNode[0];
+        // Postings of the term ending here, or null
+        Postings postings;
+        // Highest document frequency of any term in this subtree
+        int best;
+        // Sum of the document frequencies of the terms in this subtree
+        long total;
+
+        TrieNode child(char key) {
+            int at = Arrays.binarySearch(keys, key);
+            return at < 0 ? null : children[at];
+        }
+
+        TrieNode childOrNew(char key) {
+            int at = Arrays.binarySearch(keys, key);
+            if (at >= 0) {
+                return children[at];
+            }
+            at = -at - 1;
+            int n = keys.length;
+            char[] newKeys = new char[n + 1];
+            TrieNode[] newChildren = new TrieNode[n + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(keys, at, newKeys, at + 1, n - at);
+            System.arraycopy(children, at, newChildren, at + 1, n - at);
+            TrieNode node = new TrieNode();
+            newKeys[at] = key;
+            newChildren[at] = node;
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+    }
+
+    static double fieldWeight(int mask) {
+        return ((mask & TITLE) != 0 ? TITLE_WEIGHT : 0) + ((mask & AUTHOR) != 0 ? AUTHOR_WEIGHT : 0);
+    }
+
+    // A non-negative score and an id in one long that sorts by id first
+    static long pack(int id, double score) {
+        return ((long) id << 32) | (Float.floatToIntBits((float) score) & 0xFFFFFFFFL);
+    }
+
+    // Case-folded runs of letters and digits
+    static List<String> tokens(String text) {
+        String folded = Library.fold(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); ) {
+            int c = i < folded.length() ? folded.codePointAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+            i += i < folded.length() ? Character.charCount(c) : 1;
+        }
+        return tokens;
+    }
+
+    public int documents() {
+        return documents.get();
+    }
+
+    public void add(Book book) {
+        int id = book.getId();
+        Map<String, Integer> masks = new HashMap<>();
+        for (String token : tokens(book.getTitle())) {
+            masks.merge(token, TITLE, (x, y) -> x | y);
+        }
+        for (String token : tokens(book.getAuthor())) {
+            masks.merge(token, AUTHOR, (x, y) -> x | y);
+        }
+        trieLock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Integer> entry : masks.entrySet()) {
+                String term = entry.getKey();
+                Postings postings = terms.get(term);
+                TrieNode node = root;
+                if (postings == null) {
+                    postings = new Postings(term);
+                    terms.put(term, postings);
+                    for (int i = 0; i < term.length(); i++) {
+                        node = node.childOrNew(term.charAt(i));
+                    }
+                    node.postings = postings;
+                }
+                if (postings.add(id, entry.getValue())) {
+                    // Raise the best frequency along the path; frequencies only ever grow
+                    int frequency = postings.size();
+                    node = root;
+                    node.best = Math.max(node.best, frequency);
+                    node.total++;
+                    for (int i = 0; i < term.length(); i++) {
+                        node = node.child(term.charAt(i));
+                        node.best = Math.max(node.best, frequency);
+                        node.total++;
+                    }
+                }
+            }
+        } finally {
+            trieLock.writeLock().unlock();
+        }
+        documents.incrementAndGet();
+    }
+
+    // Up to limit indexed terms starting with the folded prefix, most frequent first
+    public List<String> complete(String prefix, int limit) {
+        List<String> completions = new ArrayList<>();
+        for (Postings postings : expand(Library.fold(prefix), limit)) {
+            completions.add(postings.term);
+        }
+        return completions;
+    }
+
+    // Best-first walk of the subtree under prefix, ordered by the best frequency a node or term can still give;
+    // equal frequencies come out in the order the walk reaches them, so the result does not vary between calls
+    private List<Postings> expand(String prefix, int limit) {
+        List<Postings> found = new ArrayList<>();
+        if (limit <= 0) {
+            return found;
+        }
+        trieLock.readLock().lock();
+        try {
+            TrieNode node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return found;
+            }
+            // Nodes enter with their subtree's best frequency, terms with their own, both with an arrival number
+            PriorityQueue<Object[]> queue = new PriorityQueue<>((x, y) -> (int) x[1] != (int) y[1]
+                    ? Integer.compare((int) y[1], (int) x[1]) : Integer.compare((int) x[2], (int) y[2]));
+            int arrivals = 0;
+            queue.add(new Object[] {node, node.best, arrivals++});
+            while (!queue.isEmpty() && found.size() < limit) {
+                Object item = queue.poll()[0];
+                if (item instanceof Postings) {
+                    found.add((Postings) item);
+                    continue;
+                }
+                TrieNode next = (TrieNode) item;
+                if (next.postings != null) {
+                    queue.add(new Object[] {next.postings, next.postings.size(), arrivals++});
+                }
+                for (TrieNode child : next.children) {
+                    queue.add(new Object[] {child, child.best, arrivals++});
+                }
+            }
+        } finally {
+            trieLock.readLock().unlock();
+        }
+        return found;
+    }
+
+    // Sum of the document frequencies of the terms starting with prefix
+    private long prefixLength(String prefix) {
+        trieLock.readLock().lock();
+        try {
+            TrieNode node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            return node == null ? 0 : node.total;
+        } finally {
+            trieLock.readLock().unlock();
+        }
+    }
+
+    // idf of the term, scaled down when it only matched token as a prefix
+    private double weight(Postings postings, String token) {
+        double idf = Math.log(1 + (double) documents() / Math.max(1, postings.size()));
+        return idf * (postings.term.equals(token) ? 1 : PREFIX_WEIGHT);
+    }
+
+    // Best weighted match of the prefix among the terms of the book, or 0 if none starts with it
+    private double prefixScore(Book book, String prefix) {
+        double best = 0;
+        for (String token : tokens(book.getTitle() + " " + book.getAuthor())) {
+            Postings postings = token.startsWith(prefix) ? terms.get(token) : null;
+            int mask = postings == null ? 0 : postings.fields(book.getId());
+            if (mask != 0) {
+                best = Math.max(best, weight(postings, prefix) * fieldWeight(mask));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Ranked page of the books matching every term of query.
+     * @param offset Number of best results to skip.
+     * @param books Looks books up by id.
+     */
+    public SearchPage search(String query, int offset, int limit, IntFunction<Book> books) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Page must not be negative: offset " + offset + ", limit " + limit);
+        }
+        List<String> queryTokens = tokens(query);
+        boolean lastIsPrefix = !query.isEmpty() && !Character.isWhitespace(query.charAt(query.length() - 1));
+        int n = queryTokens.size();
+        if (n == 0) {
+            return new SearchPage(0, Collections.emptyList(), new double[0]);
+        }
+        // Postings each query term stands for, with their weights, and the total length of its postings;
+        // a prefix term is left unexpanded until it turns out to be the rarest
+        int prefixTerm = lastIsPrefix ? n - 1 : -1;
+        Postings[][] expansions = new Postings[n][];
+        double[][] weights = new double[n][];
+        long[] lengths = new long[n];
+        Integer[] order = new Integer[n];
+        for (int t = 0; t < n; t++) {
+            String token = queryTokens.get(t);
+            if (t == prefixTerm) {
+                lengths[t] = prefixLength(token);
+            } else {
+                Postings exact = terms.get(token);
+                if (exact != null) {
+                    expansions[t] = new Postings[] {exact};
+                    weights[t] = new double[] {weight(exact, token)};
+                    lengths[t] = exact.size();
+                }
+            }
+            if (lengths[t] == 0) {
+                return new SearchPage(0, Collections.emptyList(), new double[0]);
+            }
+            order[t] = t;
+        }
+        Arrays.sort(order, (x, y) -> Long.compare(lengths[x], lengths[y]));
+
+        // Candidates from the rarest term: (id, score) pairs sorted by id, keeping the best score per id
+        int first = order[0];
+        if (first == prefixTerm) {
+            String token = queryTokens.get(first);
+            expansions[first] = expand(token, Integer.MAX_VALUE).toArray(new Postings[0]);
+            weights[first] = new double[expansions[first].length];
+            lengths[first] = 0;
+            for (int k = 0; k < expansions[first].length; k++) {
+                weights[first][k] = weight(expansions[first][k], token);
+                lengths[first] += expansions[first][k].size();
+            }
+        }
+        long[] packed = new long[(int) Math.min(Integer.MAX_VALUE - 8, lengths[first] + 16)];
+        int count = 0;
+        for (int k = 0; k < expansions[first].length; k++) {
+            if (packed.length - count < expansions[first][k].size()) {
+                packed = Arrays.copyOf(packed, count + expansions[first][k].size() + 16);
+            }
+            count = expansions[first][k].collect(packed, count, weights[first][k], 1);
+        }
+        Arrays.sort(packed, 0, count);
+        int[] ids = new int[count];
+        double[] scores = new double[count];
+        int candidates = 0;
+        for (int k = 0; k < count; k++) {
+            int id = (int) (packed[k] >>> 32);
+            double score = Float.intBitsToFloat((int) packed[k]);
+            if (candidates > 0 && ids[candidates - 1] == id) {
+                scores[candidates - 1] = Math.max(scores[candidates - 1], score);
+            } else {
+                ids[candidates] = id;
+                scores[candidates++] = score;
+            }
+        }
+
+        // Every other term must match too; keep the candidates that do and add their best score
+        for (int o = 1; o < n && candidates > 0; o++) {
+            int t = order[o];
+            int kept = 0;
+            for (int c = 0; c < candidates; c++) {
+                double best = 0;
+                if (t == prefixTerm) {
+                    Book book = books.apply(ids[c]);
+                    best = book == null ? 0 : prefixScore(book, queryTokens.get(t));
+                }
+                for (int k = 0; t != prefixTerm && k < expansions[t].length; k++) {
+                    int mask = expansions[t][k].fields(ids[c]);
+                    if (mask != 0) {
+                        best = Math.max(best, weights[t][k] * fieldWeight(mask));
+                    }
+                }
+                if (best > 0) {
+                    ids[kept] = ids[c];
+                    scores[kept++] = scores[c] + best;
+                }
+            }
+            candidates = kept;
+        }
+
+        return page(ids, scores, candidates, offset, limit, books);
+    }
+
+    // The results ranked offset to offset + limit, by score then id, from a bounded heap of the best ones
+    private static SearchPage page(int[] ids, double[] scores, int candidates, int offset, int limit,
+                                   IntFunction<Book> books) {
+        int keep = (int) Math.min(candidates, (long) offset + limit);
+        Comparator<Integer> better = (x, y) -> scores[x] != scores[y]
+                ? Double.compare(scores[y], scores[x]) : Integer.compare(ids[x], ids[y]);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, keep), better.reversed());
+        for (int c = 0; c < candidates && keep > 0; c++) {
+            if (heap.size() < keep) {
+                heap.add(c);
+            } else if (better.compare(c, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(c);
+            }
+        }
+        Integer[] ranked = heap.toArray(new Integer[0]);
+        Arrays.sort(ranked, better);
+        List<Book> found = new ArrayList<>();
+        double[] pageScores = new double[Math.max(0, ranked.length - offset)];
+        for (int r = offset; r < ranked.length; r++) {
+            found.add(books.apply(ids[ranked[r]]));
+            pageScores[r - offset] = scores[ranked[r]];
+        }
+        return new SearchPage(candidates, found, pageScores);
     }
 }
 
 // Main Class
 public class LibraryManagementSystem {
-    public static void main(String[] args) {
-        Library library = new Library();
+    // Directory the library is kept in unless one is given as the first argument
+    static final String DEFAULT_DIRECTORY = "library-data";
+
+    // Results shown per search
+    static final int SEARCH_PAGE_SIZE = 10;
+
+    // Available books listed before asking whether to go on
+    static final int LIST_PAGE_SIZE = 20;
+
+    public static void main(String[] args) throws IOException {
+        LibraryStore store = LibraryStore.open(Paths.get(args.length > 0 ? args[0] : DEFAULT_DIRECTORY));
+        Library library = store.library();
         Scanner scanner = new Scanner(System.in);
         boolean running = true;
 
-        // Add some initial books to the library
-        library.addBook(new Book("To Kill a Mockingbird", "Harper Lee"));
-        library.addBook(new Book("1984", "George Orwell"));
-        library.addBook(new Book("The Great Gatsby", "F. Scott Fitzgerald"));
+        if (library.size() == 0) {
+            // Add some initial books to a new library
+            addBook(library, new Book("To Kill a Mockingbird", "Harper Lee"));
+            addBook(library, new Book("1984", "George Orwell"));
+            addBook(library, new Book("The Great Gatsby", "F. Scott Fitzgerald"));
+        } else {
+            System.out.println("Recovered " + library.size() + " books.");
+        }
 
         while (running) {
             System.out.println("\n1. Show Available Books");
             System.out.println("\n2. Borrow a Book");
             System.out.println("\n3. Return a Book");
             System.out.println("\n4. Exit");
+            System.out.println("\n5. Search Books");
             System.out.print("Choose an option: ");
             int choice = scanner.nextInt();
             scanner.nextLine();  // Consume newline
 
             switch (choice) {
                 case 1:
-                    library.showAvailableBooks();
+                    printAvailable(library, scanner);
                     break;
                 case 2:
                     System.out.print("Enter the title of the book to borrow: ");
                     String bookToBorrow = scanner.nextLine();
-                    library.borrowBook(bookToBorrow);
+                    printBorrow(library.borrowBook(bookToBorrow), library.findByTitle(bookToBorrow));
                     break;
                 case 3:
                     System.out.print("Enter the title of the book to return: ");
                     String bookToReturn = scanner.nextLine();
-                    library.returnBook(bookToReturn);
+                    printReturn(library.returnBook(bookToReturn), library.findByTitle(bookToReturn));
                     break;
                 case 4:
                     running = false;
                     System.out.println("Exiting the system. Goodbye!");
                     break;
+                case 5:
+                    System.out.print("Enter words from the title or author: ");
+                    printSearch(library, scanner.nextLine());
+                    break;
                 default:
                     System.out.println("Invalid choice. Please choose again.");
             }
         }
 
         scanner.close();
+        store.close();
+    }
+
+    private static void addBook(Library library, Book book) {
+        library.addBook(book);
+        System.out.println(book.getTitle() + " added to the library.");
+    }
+
+    // Available books a page at a time, streamed from the availability bitmap
+    private static void printAvailable(Library library, Scanner scanner) {
+        System.out.println("Available Books (" + library.availableCount() + " of "
+                + (library.availableCount() + library.borrowedCount()) + "):");
+        Iterator<Book> books = library.availableBooks(0);
+        int shown = 0;
+        while (books.hasNext()) {
+            Book book = books.next();
+            System.out.println(book.getTitle() + " by " + book.getAuthor());
+            if (++shown % LIST_PAGE_SIZE == 0 && books.hasNext()) {
+                System.out.print("Press Enter for more, or q to stop: ");
+                if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // First page of matches, or suggestions for the last word when nothing matches
+    private static void printSearch(Library library, String query) {
+        SearchPage page = library.search(query, 0, SEARCH_PAGE_SIZE);
+        if (page.total == 0) {
+            List<String> tokens = BookSearchIndex.tokens(query);
+            List<String> suggestions = tokens.isEmpty() ? Collections.emptyList()
+                    : library.autocomplete(tokens.get(tokens.size() - 1), SEARCH_PAGE_SIZE);
+            System.out.println(suggestions.isEmpty() ? "No books found." : "No books found. Did you mean: "
+                    + String.join(", ", suggestions));
+            return;
+        }
+        System.out.println(page.total + " books found:");
+        for (Book book : page.books) {
+            System.out.println(book.getTitle() + " by " + book.getAuthor() + (book.isBorrowed() ? " (borrowed)" : ""));
+        }
+    }
+
+    private static void printBorrow(LoanResult result, Book book) {
+        switch (result) {
+            case SUCCESS:
+                System.out.println("You have successfully borrowed " + book.getTitle());
+                break;
+            case ALREADY_BORROWED:
+                System.out.println("Sorry, this book is currently borrowed.");
+                break;
+            default:
+                System.out.println("Book not found.");
+        }
+    }
+
+    private static void printReturn(LoanResult result, Book book) {
+        switch (result) {
+            case SUCCESS:
+                System.out.println("You have successfully returned " + book.getTitle());
+                break;
+            case NOT_BORROWED:
+                System.out.println("This book wasn't borrowed.");
+                break;
+            default:
+                System.out.println("Book not found.");
+        }
+    }
+}
+
+/**
+ * Stress test for concurrent borrowing: many threads borrow and return the same few titles at once.
+ * A copy may be lent to only one client at a time, so at the end the successful borrows minus the successful
+ * returns must equal both Library.borrowedCount() and the number of books whose isBorrowed() is set;
+ * a double checkout makes the borrows outrun the books that are actually out.
+ * Prints the totals and exits with status 1 on a mismatch.
+ * Kept in this file beside Library so it can use the package-private classes. Run with:
+ *   javac LibraryManagementSystem.java
+ *   java LibraryStressTest [threads] [operations per thread] [titles]
+ */
+class LibraryStressTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int titles = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+        Library library = new Library();
+        for (int t = 0; t < titles; t++) {
+            library.addBook(new Book("Title " + t, "Author " + t % 3));
+        }
+
+        AtomicLong borrows = new AtomicLong();
+        AtomicLong returns = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int w = 0; w < threads; w++) {
+            SplittableRandom random = new SplittableRandom(w);
+            workers[w] = new Thread(() -> {
+                long borrowed = 0;
+                long returned = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    int t = random.nextInt(titles);
+                    // Mixed case exercises the case-folded title index too
+                    String title = (i & 1) == 0 ? "Title " + t : "title " + t;
+                    if (random.nextBoolean()) {
+                        if (library.borrowBook(title) == LoanResult.SUCCESS) {
+                            borrowed++;
+                        }
+                    } else if (library.returnBook(title) == LoanResult.SUCCESS) {
+                        returned++;
+                    }
+                }
+                borrows.addAndGet(borrowed);
+                returns.addAndGet(returned);
+            });
+        }
+
+        long begin = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        long outstanding = borrows.get() - returns.get();
+        int scanned = 0;
+        for (int t = 0; t < titles; t++) {
+            if (library.findByTitle("Title " + t).isBorrowed()) {
+                scanned++;
+            }
+        }
+        System.out.printf("%d threads x %d operations on %d titles in %.2f s: %d borrows, %d returns%n",
+                threads, operations, titles, seconds, borrows.get(), returns.get());
+        System.out.printf("outstanding %d, borrowedCount() %d, isBorrowed() scan %d%n",
+                outstanding, library.borrowedCount(), scanned);
+        if (outstanding != library.borrowedCount() || outstanding != scanned) {
+            System.out.println("FAILED");
+            System.exit(1);
+        }
+        System.out.println("ok");
     }
 }
@@ -0,0 +1,321 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class MatrixIO {
+
+    // Magic numbers at the start of the binary formats ("GESY" and "GESO")
+    static final int SYSTEM_MAGIC = 0x47455359;
+    static final int SOLUTION_MAGIC = 0x4745534F;
+
+    // Size of each memory-mapped window, so files larger than 2 GB can be streamed
+    static final int WINDOW_SIZE = 64 << 20;
+
+    // A linear system read from a file: the matrix is stored row-major in one array
+    public static class LinearSystem {
+        public final int n;
+        public final double[] matrix;
+        public final double[] result;
+
+        LinearSystem(int n, double[] matrix, double[] result) {
+            this.n = n;
+            this.matrix = matrix;
+            this.result = result;
+        }
+
+        // Copy the matrix into separate rows for the double[][] based APIs
+        public double[][] rows() {
+            double[][] rows = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(matrix, i * n, rows[i], 0, n);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Reads a system in the same layout GaussianElimination.main asks for on the console:
+     * the number of variables, the n x n coefficients row by row, then the n result values,
+     * all separated by whitespace. The file is memory-mapped window by window and parsed in place.
+     */
+    public static LinearSystem readText(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            TextReader reader = new TextReader(channel);
+            double size = reader.nextDouble();
+            if (size != Math.rint(size) || size < 1 || size * size > Integer.MAX_VALUE - 8) {
+                throw new IOException("Invalid number of variables: " + size);
+            }
+            int n = (int) size;
+            double[] matrix = new double[n * n];
+            for (int i = 0; i < matrix.length; i++) {
+                matrix[i] = reader.nextDouble();
+            }
+            double[] result = new double[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = reader.nextDouble();
+            }
+            return new LinearSystem(n, matrix, result);
+        }
+    }
+
+    /**
+     * Reads a binary system: magic, n (little-endian int), then n * n coefficients row by row
+     * and n result values as little-endian doubles.
+     */
+    public static LinearSystem readBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 8).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != SYSTEM_MAGIC) {
+                throw new IOException("Not a binary linear system file: " + path);
+            }
+            int n = header.getInt();
+            if (n < 1 || (long) n * n > Integer.MAX_VALUE - 8) {
+                throw new IOException("Invalid number of variables: " + n);
+            }
+            long expected = 8 + 8L * ((long) n * n + n);
+            if (channel.size() < expected) {
+                throw new IOException("File is truncated: expected " + expected + " bytes, found " + channel.size());
+            }
+            double[] matrix = new double[n * n];
+            double[] result = new double[n];
+            long position = readDoubles(channel, 8, matrix);
+            readDoubles(channel, position, result);
+            return new LinearSystem(n, matrix, result);
+        }
+    }
+
+    // Write a system in the binary layout read by readBinary
+    public static void writeBinary(Path path, int n, double[] matrix, double[] result) throws IOException {
+        if (matrix.length != n * n || result.length != n) {
+            throw new IllegalArgumentException("Matrix must have n * n entries and the result vector n entries");
+        }
+        writeDoubles(path, SYSTEM_MAGIC, n, matrix, result);
+    }
+
+    // Write a solution vector: magic, n, then n little-endian doubles
+    public static void writeSolution(Path path, double[] solution) throws IOException {
+        writeDoubles(path, SOLUTION_MAGIC, solution.length, solution);
+    }
+
+    // Read a solution vector written by writeSolution
+    public static double[] readSolution(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 8).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != SOLUTION_MAGIC) {
+                throw new IOException("Not a binary solution file: " + path);
+            }
+            int n = header.getInt();
+            if (n < 0 || n > Integer.MAX_VALUE - 8) {
+                throw new IOException("Invalid solution length: " + n);
+            }
+            long expected = 8 + 8L * n;
+            if (channel.size() < expected) {
+                throw new IOException("File is truncated: expected " + expected + " bytes, found " + channel.size());
+            }
+            double[] solution = new double[n];
+            readDoubles(channel, 8, solution);
+            return solution;
+        }
+    }
+
+    // Bulk-copy doubles from consecutive mapped windows; returns the position after the last value
+    private static long readDoubles(FileChannel channel, long position, double[] target) throws IOException {
+        int done = 0;
+        while (done < target.length) {
+            int count = Math.min(target.length - done, WINDOW_SIZE / 8);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, 8L * count);
+            window.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(target, done, count);
+            done += count;
+            position += 8L * count;
+        }
+        return position;
+    }
+
+    private static void writeDoubles(Path path, int magic, int n, double[]... arrays) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(magic).putInt(n);
+            for (double[] values : arrays) {
+                int done = 0;
+                while (done < values.length) {
+                    if (buffer.remaining() < 8) {
+                        drain(channel, buffer);
+                    }
+                    int count = Math.min(values.length - done, buffer.remaining() / 8);
+                    buffer.asDoubleBuffer().put(values, done, count);
+                    buffer.position(buffer.position() + 8 * count);
+                    done += count;
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Whitespace-separated number reader over a memory-mapped file.
+     * Tokens are copied into one reusable byte buffer and parsed by hand; only tokens the fast path
+     * cannot convert exactly (more than 18 digits, large exponents, NaN, Infinity) fall back to
+     * Double.parseDouble. A token that is not a number is reported as an IOException with its
+     * position in the file.
+     */
+    static class TextReader {
+        // Powers of ten that are exact in a double
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer window;
+        private byte[] token = new byte[64];
+        private int length;
+        // Numbers read so far and the byte offset of the current token, for error messages
+        private long tokens;
+        private long tokenStart;
+
+        TextReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.windowStart = 0;
+            mapWindow();
+        }
+
+        private void mapWindow() throws IOException {
+            long count = Math.min(WINDOW_SIZE, size - windowStart);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, count);
+        }
+
+        // Next byte of the file, or -1 at the end
+        private int read() throws IOException {
+            if (!window.hasRemaining()) {
+                windowStart += window.capacity();
+                if (windowStart >= size) {
+                    return -1;
+                }
+                mapWindow();
+            }
+            return window.get();
+        }
+
+        double nextDouble() throws IOException {
+            int c = read();
+            while (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f') {
+                c = read();
+            }
+            if (c == -1) {
+                throw new IOException("Unexpected end of file after " + tokens + " numbers");
+            }
+            tokenStart = windowStart + window.position() - 1;
+            tokens++;
+            length = 0;
+            while (c != -1 && c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != '\f') {
+                if (length == token.length) {
+                    token = Arrays.copyOf(token, length * 2);
+                }
+                token[length++] = (byte) c;
+                c = read();
+            }
+            try {
+                return parse();
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid number " + tokens + " at byte " + tokenStart + ": "
+                        + new String(token, 0, length, StandardCharsets.US_ASCII));
+            }
+        }
+
+        // Parse token[0..length) as a double
+        private double parse() {
+            int i = 0;
+            boolean negative = false;
+            if (token[i] == '-' || token[i] == '+') {
+                negative = token[i] == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean any = false;
+            for (; i < length && token[i] >= '0' && token[i] <= '9'; i++) {
+                any = true;
+                if (mantissa != 0 || token[i] != '0') {
+                    if (digits == 18) {
+                        return slowParse();
+                    }
+                    mantissa = mantissa * 10 + (token[i] - '0');
+                    digits++;
+                }
+            }
+            if (i < length && token[i] == '.') {
+                for (i++; i < length && token[i] >= '0' && token[i] <= '9'; i++) {
+                    any = true;
+                    if (mantissa != 0 || token[i] != '0') {
+                        if (digits == 18) {
+                            return slowParse();
+                        }
+                        mantissa = mantissa * 10 + (token[i] - '0');
+                        digits++;
+                    }
+                    exponent--;
+                }
+            }
+            if (!any) {
+                return slowParse();
+            }
+            if (i < length && (token[i] == 'e' || token[i] == 'E')) {
+                i++;
+                boolean negativeExponent = false;
+                if (i < length && (token[i] == '-' || token[i] == '+')) {
+                    negativeExponent = token[i] == '-';
+                    i++;
+                }
+                int start = i;
+                int value = 0;
+                for (; i < length && token[i] >= '0' && token[i] <= '9'; i++) {
+                    if (value > 100000) {
+                        return slowParse();
+                    }
+                    value = value * 10 + (token[i] - '0');
+                }
+                if (i == start) {
+                    return slowParse();
+                }
+                exponent += negativeExponent ? -value : value;
+            }
+            if (i != length) {
+                return slowParse();
+            }
+
+            // Exact when the mantissa fits in 53 bits and the power of ten is exact
+            double result;
+            if (mantissa == 0) {
+                result = 0.0;
+            } else if (mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+                result = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            } else {
+                return slowParse();
+            }
+            return negative ? -result : result;
+        }
+
+        private double slowParse() {
+            return Double.parseDouble(new String(token, 0, length, StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+public class MixedPrecisionSolver {
+
+    // Maximum number of refinement steps before falling back to a double factorization
+    public static final int MAX_REFINEMENTS = 30;
+
+    // Outcome of a mixed-precision solve
+    public static class Result {
+        public final double[] solution;
+        // Refinement steps run after the first float solve, including the ones before a fallback
+        public final int refinements;
+        public final double residualNorm;
+        public final boolean usedDoubleFallback;
+
+        Result(double[] solution, int refinements, double residualNorm, boolean usedDoubleFallback) {
+            this.solution = solution;
+            this.refinements = refinements;
+            this.residualNorm = residualNorm;
+            this.usedDoubleFallback = usedDoubleFallback;
+        }
+    }
+
+    /**
+     * Solves matrix * x = result by factoring in single precision and refining in double.
+     * Each refinement computes r = b - A x in double, solves A d = r with the float factors
+     * and updates x += d, stopping once ||r|| <= ||A|| * ||x|| * eps * sqrt(n) (infinity norms).
+     * If the float factorization is singular or refinement does not converge within
+     * MAX_REFINEMENTS steps, the system is solved with the double LU instead.
+     * The inputs are not modified.
+     */
+    public static Result solve(double[][] matrix, double[] result) {
+        int n = result.length;
+        if (matrix.length != n) {
+            throw new IllegalArgumentException("Matrix has " + matrix.length + " rows but result vector has " + n + " entries");
+        }
+        float[] lu = new float[n * n];
+        double normA = 0;
+        for (int i = 0; i < n; i++) {
+            if (matrix[i].length != n) {
+                throw new IllegalArgumentException("Matrix must be square: row " + i + " has " + matrix[i].length + " columns");
+            }
+            double rowSum = 0;
+            for (int j = 0; j < n; j++) {
+                lu[i * n + j] = (float) matrix[i][j];
+                rowSum += Math.abs(matrix[i][j]);
+            }
+            normA = Math.max(normA, rowSum);
+        }
+
+        int[] piv = new int[n];
+        int refinements = 0;
+        if (factor(lu, n, piv)) {
+            double threshold = normA * Math.ulp(1.0) * Math.sqrt(n);
+            double[] x = new double[n];
+            double[] r = result.clone();
+            float[] d = new float[n];
+            for (int step = 0; step <= MAX_REFINEMENTS; step++) {
+                refinements = step;
+                // Correction from the float factors: x += A^-1 r
+                for (int i = 0; i < n; i++) {
+                    d[i] = (float) r[i];
+                }
+                substitute(lu, n, piv, d);
+                for (int i = 0; i < n; i++) {
+                    x[i] += d[i];
+                }
+
+                // Residual in double precision
+                double residualNorm = residual(matrix, x, result, r);
+                if (!Double.isFinite(residualNorm)) {
+                    break;
+                }
+                if (residualNorm <= threshold * maxNorm(x)) {
+                    return new Result(x, step, residualNorm, false);
+                }
+            }
+        }
+
+        // Refinement failed: factor in double precision instead
+        double[] x = BlockedLU.solve(matrix, result);
+        double[] r = new double[n];
+        return new Result(x, refinements, residual(matrix, x, result, r), true);
+    }
+
+    // r = b - A x in double precision; returns the infinity norm of r
+    static double residual(double[][] matrix, double[] x, double[] b, double[] r) {
+        double norm = 0;
+        for (int i = 0; i < b.length; i++) {
+            double[] row = matrix[i];
+            double sum = b[i];
+            for (int j = 0; j < x.length; j++) {
+                sum -= row[j] * x[j];
+            }
+            r[i] = sum;
+            norm = Math.max(norm, Math.abs(sum));
+        }
+        return norm;
+    }
+
+    private static double maxNorm(double[] x) {
+        double norm = 0;
+        for (double v : x) {
+            norm = Math.max(norm, Math.abs(v));
+        }
+        return norm;
+    }
+
+    // Single-precision version of BlockedLU.factor: same panels, pivoting and trailing update
+    static boolean factor(float[] a, int n, int[] piv) {
+        for (int kb = 0; kb < n; kb += BlockedLU.BLOCK_SIZE) {
+            int end = Math.min(kb + BlockedLU.BLOCK_SIZE, n);
+
+            // Factor the panel (columns kb..end-1) with partial pivoting
+            for (int j = kb; j < end; j++) {
+                int max = j;
+                float maxValue = Math.abs(a[j * n + j]);
+                for (int i = j + 1; i < n; i++) {
+                    float value = Math.abs(a[i * n + j]);
+                    if (value > maxValue) {
+                        max = i;
+                        maxValue = value;
+                    }
+                }
+                piv[j] = max;
+                if (maxValue <= BlockedLU.SINGULAR_TOLERANCE) {
+                    return false;
+                }
+                if (max != j) {
+                    int o1 = j * n;
+                    int o2 = max * n;
+                    for (int k = 0; k < n; k++) {
+                        float t = a[o1 + k];
+                        a[o1 + k] = a[o2 + k];
+                        a[o2 + k] = t;
+                    }
+                }
+
+                int rowJ = j * n;
+                float pivot = a[rowJ + j];
+                for (int i = j + 1; i < n; i++) {
+                    int rowI = i * n;
+                    float factor = a[rowI + j] / pivot;
+                    a[rowI + j] = factor;
+                    for (int k = j + 1; k < end; k++) {
+                        a[rowI + k] -= factor * a[rowJ + k];
+                    }
+                }
+            }
+
+            if (end == n) {
+                break;
+            }
+
+            // Compute the U12 block
+            for (int j = kb + 1; j < end; j++) {
+                int rowJ = j * n;
+                for (int i = kb; i < j; i++) {
+                    float factor = a[rowJ + i];
+                    int rowI = i * n;
+                    for (int k = end; k < n; k++) {
+                        a[rowJ + k] -= factor * a[rowI + k];
+                    }
+                }
+            }
+
+            // Update the trailing matrix in column tiles
+            for (int cb = end; cb < n; cb += BlockedLU.TILE_COLUMNS) {
+                int cEnd = Math.min(cb + BlockedLU.TILE_COLUMNS, n);
+                for (int i = end; i < n; i++) {
+                    int rowI = i * n;
+                    for (int p = kb; p < end; p++) {
+                        float factor = a[rowI + p];
+                        if (factor == 0.0f) {
+                            continue;
+                        }
+                        int rowP = p * n;
+                        for (int k = cb; k < cEnd; k++) {
+                            a[rowI + k] -= factor * a[rowP + k];
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    // Single-precision forward and back substitution in place
+    static void substitute(float[] lu, int n, int[] piv, float[] x) {
+        for (int i = 0; i < n; i++) {
+            int p = piv[i];
+            if (p != i) {
+                float t = x[i];
+                x[i] = x[p];
+                x[p] = t;
+            }
+        }
+        for (int i = 1; i < n; i++) {
+            int rowI = i * n;
+            float sum = 0;
+            for (int j = 0; j < i; j++) {
+                sum += lu[rowI + j] * x[j];
+            }
+            x[i] -= sum;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int rowI = i * n;
+            float sum = 0;
+            for (int j = i + 1; j < n; j++) {
+                sum += lu[rowI + j] * x[j];
+            }
+            x[i] = (x[i] - sum) / lu[rowI + i];
+        }
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.Scanner;
+import java.util.function.DoubleUnaryOperator;
 
 public class NewtonsMethod {
 
@@ -51,6 +52,97 @@ public class NewtonsMethod {
         return x;
     }
 
+    // Newton's Method for any f with an analytic derivative; throws instead of printing when it fails
+    public static double newtonsMethod(DoubleUnaryOperator f, DoubleUnaryOperator derivative,
+                                       double initialGuess, double tolerance, int maxIterations) {
+        RootBatchResult result = new RootBatchResult(1);
+        newton(f, derivative, initialGuess, tolerance, maxIterations, result, 0);
+        return rootOrThrow(result);
+    }
+
+    // Newton's Method with f' computed by forward-mode automatic differentiation
+    public static double newtonsMethod(Dual.Function f, double initialGuess, double tolerance, int maxIterations) {
+        RootBatchResult result = new RootBatchResult(1);
+        newton(f, initialGuess, tolerance, maxIterations, new Dual(), new Dual(), result, 0);
+        return rootOrThrow(result);
+    }
+
+    private static double rootOrThrow(RootBatchResult result) {
+        switch (result.status(0)) {
+            case CONVERGED:
+                return result.roots[0];
+            case ZERO_DERIVATIVE:
+                throw new ArithmeticException("Derivative is zero in Newton's Method");
+            case DIVERGED:
+                throw new ArithmeticException("Newton's Method diverged");
+            default:
+                throw new ArithmeticException("Newton's Method did not converge");
+        }
+    }
+
+    /**
+     * Newton iteration x = x - f(x) / f'(x) from x0, stopping once |f(x)| <= tolerance or the last step
+     * was shorter than tolerance. The outcome, iterations, evaluations and residual go to result[i].
+     * The loop does no I/O and allocates nothing, so it can run over large batches.
+     */
+    static void newton(DoubleUnaryOperator f, DoubleUnaryOperator derivative, double x0, double tolerance,
+                       int maxIterations, RootBatchResult result, int i) {
+        double x = x0;
+        double step = Double.POSITIVE_INFINITY;
+        for (int iteration = 0; iteration <= maxIterations; iteration++) {
+            double fx = f.applyAsDouble(x);
+            if (Math.abs(fx) <= tolerance || Math.abs(step) < tolerance) {
+                result.set(i, x, iteration, iteration + 1, Math.abs(fx), RootBatchResult.Status.CONVERGED);
+                return;
+            }
+            if (iteration == maxIterations) {
+                result.set(i, x, iteration, iteration + 1, Math.abs(fx), RootBatchResult.Status.MAX_ITERATIONS);
+                return;
+            }
+            double dfx = derivative.applyAsDouble(x);
+            if (dfx == 0 || !Double.isFinite(dfx)) {
+                result.set(i, x, iteration, iteration + 1, Math.abs(fx), RootBatchResult.Status.ZERO_DERIVATIVE);
+                return;
+            }
+            step = fx / dfx;
+            x -= step;
+            if (!Double.isFinite(x)) {
+                result.set(i, x, iteration + 1, iteration + 1, Math.abs(fx), RootBatchResult.Status.DIVERGED);
+                return;
+            }
+        }
+    }
+
+    // Same iteration with f and f' from one dual-number evaluation; in and out are reused scratch numbers
+    static void newton(Dual.Function f, double x0, double tolerance, int maxIterations,
+                       Dual in, Dual out, RootBatchResult result, int i) {
+        double x = x0;
+        double step = Double.POSITIVE_INFINITY;
+        for (int iteration = 0; iteration <= maxIterations; iteration++) {
+            f.apply(in.set(x, 1), out);
+            double fx = out.value;
+            if (Math.abs(fx) <= tolerance || Math.abs(step) < tolerance) {
+                result.set(i, x, iteration, iteration + 1, Math.abs(fx), RootBatchResult.Status.CONVERGED);
+                return;
+            }
+            if (iteration == maxIterations) {
+                result.set(i, x, iteration, iteration + 1, Math.abs(fx), RootBatchResult.Status.MAX_ITERATIONS);
+                return;
+            }
+            double dfx = out.derivative;
+            if (dfx == 0 || !Double.isFinite(dfx)) {
+                result.set(i, x, iteration, iteration + 1, Math.abs(fx), RootBatchResult.Status.ZERO_DERIVATIVE);
+                return;
+            }
+            step = fx / dfx;
+            x -= step;
+            if (!Double.isFinite(x)) {
+                result.set(i, x, iteration + 1, iteration + 1, Math.abs(fx), RootBatchResult.Status.DIVERGED);
+                return;
+            }
+        }
+    }
+
     // Main function to test Newton's Method
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
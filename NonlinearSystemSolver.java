@@ -0,0 +1,286 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Newton's Method for systems F(x) = 0 of n equations in n unknowns.
+ * Each step solves J(x) d = -F(x) with an LUDecomposition of the Jacobian. The Jacobian is either
+ * supplied analytically or approximated by forward differences, one column per perturbed unknown,
+ * with the columns spread across a fork/join pool.
+ * The Broyden variant factors the Jacobian once and then corrects the inverse with rank-one updates,
+ * so most steps cost O(n^2) instead of a new O(n^3) factorization.
+ */
+public class NonlinearSystemSolver {
+
+    // F(x) written into out; must be safe to call from several threads when a pool is used
+    @FunctionalInterface
+    public interface VectorFunction {
+        void apply(double[] x, double[] out);
+    }
+
+    // J(x) written into jacobian[i][j] = dF_i / dx_j
+    @FunctionalInterface
+    public interface Jacobian {
+        void apply(double[] x, double[][] jacobian);
+    }
+
+    // Default number of Broyden updates applied before the Jacobian is evaluated and factored again
+    public static final int DEFAULT_MAX_UPDATES = 20;
+
+    // Minimum number of finite-difference columns per parallel task
+    static final int COLUMNS_PER_TASK = 4;
+
+    // Outcome of a nonlinear solve
+    public static class Result {
+        public final double[] solution;
+        public final int iterations;
+        // Evaluations of F, including the ones spent on finite-difference Jacobians
+        public final int evaluations;
+        public final int factorizations;
+        public final double residualNorm;
+        public final boolean converged;
+
+        Result(double[] solution, int iterations, int evaluations, int factorizations,
+               double residualNorm, boolean converged) {
+            this.solution = solution;
+            this.iterations = iterations;
+            this.evaluations = evaluations;
+            this.factorizations = factorizations;
+            this.residualNorm = residualNorm;
+            this.converged = converged;
+        }
+    }
+
+    // Newton's Method on the calling thread; pass a null jacobian for finite differences
+    public static Result newton(VectorFunction f, Jacobian jacobian, double[] x0, double tolerance, int maxIterations) {
+        return newton(f, jacobian, x0, tolerance, maxIterations, null);
+    }
+
+    /**
+     * Newton's Method with a fresh Jacobian and factorization every iteration.
+     * Stops when ||F(x)|| <= tolerance or the last step was shorter than tolerance * (1 + ||x||),
+     * both in the infinity norm.
+     * @param pool Pool for the finite-difference columns and the factorization, or null to stay sequential.
+     * @throws ArithmeticException if a Jacobian is singular.
+     */
+    public static Result newton(VectorFunction f, Jacobian jacobian, double[] x0, double tolerance,
+                                int maxIterations, ForkJoinPool pool) {
+        int n = x0.length;
+        double[] x = x0.clone();
+        double[] fx = new double[n];
+        double[][] j = new double[n][n];
+        f.apply(x, fx);
+        int evaluations = 1;
+        double residual = maxNorm(fx);
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            if (residual <= tolerance) {
+                return new Result(x, iteration, evaluations, iteration, residual, true);
+            }
+            evaluations += evaluateJacobian(f, jacobian, x, fx, j, pool);
+            double[] step = factor(j, pool).solve(negate(fx));
+            for (int i = 0; i < n; i++) {
+                x[i] += step[i];
+            }
+            f.apply(x, fx);
+            evaluations++;
+            residual = maxNorm(fx);
+            if (maxNorm(step) <= tolerance * (1 + maxNorm(x))) {
+                return new Result(x, iteration + 1, evaluations, iteration + 1, residual, true);
+            }
+        }
+        return new Result(x, maxIterations, evaluations, maxIterations, residual, residual <= tolerance);
+    }
+
+    // Broyden's method on the calling thread with the default update limit
+    public static Result broyden(VectorFunction f, Jacobian jacobian, double[] x0, double tolerance, int maxIterations) {
+        return broyden(f, jacobian, x0, tolerance, maxIterations, DEFAULT_MAX_UPDATES, null);
+    }
+
+    /**
+     * Broyden's ("good") quasi-Newton method.
+     * The Jacobian J0 is factored once; after each step s with change y in F the inverse is updated as
+     * H_{k+1} = H_k + (s - H_k y) s^T H_k / (s^T H_k y). H_k is never formed: applying it to z means
+     * solving with the LU of J0 and then adding w_j (s_j^T v) for each stored pair, w_j = (s_j - H_j y_j) / (s_j^T H_j y_j).
+     * The Jacobian is evaluated and factored again after maxUpdates updates, when an update would divide
+     * by zero, or when a step fails to reduce ||F||, in which case that step is discarded.
+     * @throws ArithmeticException if a Jacobian is singular.
+     */
+    public static Result broyden(VectorFunction f, Jacobian jacobian, double[] x0, double tolerance,
+                                 int maxIterations, int maxUpdates, ForkJoinPool pool) {
+        if (maxUpdates < 0) {
+            throw new IllegalArgumentException("Update limit must not be negative: " + maxUpdates);
+        }
+        int n = x0.length;
+        double[] x = x0.clone();
+        double[] fx = new double[n];
+        double[] xNext = new double[n];
+        double[] fNext = new double[n];
+        double[] y = new double[n];
+        double[][] j = new double[n][n];
+        double[][] s = new double[maxUpdates][];
+        double[][] w = new double[maxUpdates][];
+        int updates = 0;
+
+        f.apply(x, fx);
+        int evaluations = 1;
+        double residual = maxNorm(fx);
+        evaluations += evaluateJacobian(f, jacobian, x, fx, j, pool);
+        LUDecomposition lu = factor(j, pool);
+        int factorizations = 1;
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            if (residual <= tolerance) {
+                return new Result(x, iteration, evaluations, factorizations, residual, true);
+            }
+            // Quasi-Newton step s = -H F(x)
+            double[] step = applyInverse(lu, s, w, updates, negate(fx));
+            for (int i = 0; i < n; i++) {
+                xNext[i] = x[i] + step[i];
+            }
+            f.apply(xNext, fNext);
+            evaluations++;
+            double nextResidual = maxNorm(fNext);
+
+            if (!(nextResidual < residual) && updates > 0) {
+                // The updated inverse has drifted: discard the step and start again from the true Jacobian
+                evaluations += evaluateJacobian(f, jacobian, x, fx, j, pool);
+                lu = factor(j, pool);
+                factorizations++;
+                updates = 0;
+                continue;
+            }
+
+            for (int i = 0; i < n; i++) {
+                y[i] = fNext[i] - fx[i];
+            }
+            System.arraycopy(xNext, 0, x, 0, n);
+            System.arraycopy(fNext, 0, fx, 0, n);
+            residual = nextResidual;
+            if (maxNorm(step) <= tolerance * (1 + maxNorm(x))) {
+                return new Result(x, iteration + 1, evaluations, factorizations, residual, true);
+            }
+
+            double[] hy = applyInverse(lu, s, w, updates, y);
+            double denominator = dot(step, hy);
+            if (updates == maxUpdates || denominator == 0 || !Double.isFinite(denominator)) {
+                evaluations += evaluateJacobian(f, jacobian, x, fx, j, pool);
+                lu = factor(j, pool);
+                factorizations++;
+                updates = 0;
+                continue;
+            }
+            double[] wk = new double[n];
+            for (int i = 0; i < n; i++) {
+                wk[i] = (step[i] - hy[i]) / denominator;
+            }
+            s[updates] = step;
+            w[updates] = wk;
+            updates++;
+        }
+        return new Result(x, maxIterations, evaluations, factorizations, residual, residual <= tolerance);
+    }
+
+    // v = H_k z: solve with the factored J0, then apply the stored rank-one corrections in order
+    private static double[] applyInverse(LUDecomposition lu, double[][] s, double[][] w, int updates, double[] z) {
+        double[] v = lu.solve(z);
+        for (int k = 0; k < updates; k++) {
+            double scale = dot(s[k], v);
+            double[] wk = w[k];
+            for (int i = 0; i < v.length; i++) {
+                v[i] += wk[i] * scale;
+            }
+        }
+        return v;
+    }
+
+    private static LUDecomposition factor(double[][] j, ForkJoinPool pool) {
+        return pool == null ? new LUDecomposition(j) : new LUDecomposition(j, pool, BlockedLU.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // Fill j at x, analytically or by forward differences; returns the number of evaluations of F used
+    static int evaluateJacobian(VectorFunction f, Jacobian jacobian, double[] x, double[] fx, double[][] j,
+                                ForkJoinPool pool) {
+        if (jacobian != null) {
+            jacobian.apply(x, j);
+            return 0;
+        }
+        FiniteDifferences task = new FiniteDifferences(f, x, fx, j, 0, x.length, pool != null);
+        if (pool == null) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return x.length;
+    }
+
+    /**
+     * Forward-difference columns [from, to) of the Jacobian: column c is (F(x + h e_c) - F(x)) / h
+     * with h = sqrt(eps) * max(|x_c|, 1). Each leaf task perturbs its own copy of x, so columns
+     * are independent and can be computed in parallel.
+     */
+    static class FiniteDifferences extends RecursiveAction {
+        private static final double SQRT_EPS = Math.sqrt(Math.ulp(1.0));
+
+        private final VectorFunction f;
+        private final double[] x, fx;
+        private final double[][] j;
+        private final int from, to;
+        private final boolean parallel;
+
+        FiniteDifferences(VectorFunction f, double[] x, double[] fx, double[][] j, int from, int to, boolean parallel) {
+            this.f = f;
+            this.x = x;
+            this.fx = fx;
+            this.j = j;
+            this.from = from;
+            this.to = to;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (parallel && to - from > COLUMNS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new FiniteDifferences(f, x, fx, j, from, mid, true),
+                        new FiniteDifferences(f, x, fx, j, mid, to, true));
+                return;
+            }
+            int n = x.length;
+            double[] shifted = x.clone();
+            double[] out = new double[n];
+            for (int c = from; c < to; c++) {
+                double h = SQRT_EPS * Math.max(Math.abs(x[c]), 1);
+                shifted[c] = x[c] + h;
+                h = shifted[c] - x[c]; // the step that was actually representable
+                f.apply(shifted, out);
+                for (int i = 0; i < n; i++) {
+                    j[i][c] = (out[i] - fx[i]) / h;
+                }
+                shifted[c] = x[c];
+            }
+        }
+    }
+
+    private static double[] negate(double[] v) {
+        double[] result = new double[v.length];
+        for (int i = 0; i < v.length; i++) {
+            result[i] = -v[i];
+        }
+        return result;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static double maxNorm(double[] v) {
+        double norm = 0;
+        for (double value : v) {
+            norm = Math.max(norm, Math.abs(value));
+        }
+        return norm;
+    }
+}
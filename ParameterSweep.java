@@ -0,0 +1,266 @@
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Non-interactive sensitivity study for ErrorAnalysisWithNewton: runs the standard, truncation-error and
+ * propagation-error Newton iterations over the cartesian grid of a, b, c, truncation digits and error
+ * magnitudes, and streams one row per grid point to a file.
+ * The grid is cut into blocks of BLOCK_POINTS that are solved on a fork/join pool a few blocks ahead of the
+ * writer, and written in order as they complete, so memory stays bounded however large the grid is.
+ * Block k draws its propagation errors from the k-th generator split off SplittableRandom(seed),
+ * so the file depends only on the grid and the seed.
+ */
+public class ParameterSweep {
+
+    // Grid points per block; also the unit of parallel work and of writing
+    static final int BLOCK_POINTS = 1 << 14;
+
+    // Columns of every output row
+    static final String[] COLUMNS = {
+            "a", "b", "c", "digits", "error", "exact", "standard", "truncation", "propagation"
+    };
+
+    // Magic number at the start of the binary output ("GESW")
+    static final int SWEEP_MAGIC = 0x47455357;
+
+    // Evenly spaced values from start to end; geometric ranges space them by a constant ratio instead
+    public static class Range {
+        final double start;
+        final double end;
+        final int count;
+        final boolean geometric;
+
+        Range(double start, double end, int count, boolean geometric) {
+            if (count < 1) {
+                throw new IllegalArgumentException("A range needs at least one value: " + count);
+            }
+            if (geometric && (start <= 0 || end <= 0)) {
+                throw new IllegalArgumentException("Geometric ranges need positive ends: " + start + ", " + end);
+            }
+            this.start = start;
+            this.end = end;
+            this.count = count;
+            this.geometric = geometric;
+        }
+
+        public static Range linear(double start, double end, int count) {
+            return new Range(start, end, count, false);
+        }
+
+        public static Range geometric(double start, double end, int count) {
+            return new Range(start, end, count, true);
+        }
+
+        public static Range of(double value) {
+            return new Range(value, value, 1, false);
+        }
+
+        // Parse "value" or "start:end:count"
+        static Range parse(String text, boolean geometric) {
+            String[] parts = text.split(":");
+            if (parts.length == 1) {
+                return of(Double.parseDouble(parts[0]));
+            }
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected value or start:end:count, got " + text);
+            }
+            return new Range(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+                    Integer.parseInt(parts[2]), geometric);
+        }
+
+        double value(int k) {
+            if (count == 1) {
+                return start;
+            }
+            double t = (double) k / (count - 1);
+            return geometric ? start * Math.pow(end / start, t) : start + (end - start) * t;
+        }
+    }
+
+    private final Range a, b, c, errors;
+    private final int minDigits, maxDigits;
+
+    public ParameterSweep(Range a, Range b, Range c, int minDigits, int maxDigits, Range errors) {
+        if (minDigits > maxDigits) {
+            throw new IllegalArgumentException("Digit range is empty: " + minDigits + ".." + maxDigits);
+        }
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.minDigits = minDigits;
+        this.maxDigits = maxDigits;
+        this.errors = errors;
+    }
+
+    // Number of grid points
+    public long size() {
+        return (long) a.count * b.count * c.count * (maxDigits - minDigits + 1) * errors.count;
+    }
+
+    /**
+     * Runs the sweep and writes it to output: little-endian binary when the name ends in .bin
+     * (magic, column count, row count, then the rows as doubles), CSV with a header line otherwise.
+     * @return The number of rows written.
+     */
+    public long run(Path output, double initialGuess, double tolerance, int maxIterations, long seed,
+                    ForkJoinPool pool) throws IOException {
+        long points = size();
+        long blocks = (points + BLOCK_POINTS - 1) / BLOCK_POINTS;
+        int ahead = 2 * pool.getParallelism();
+        SplittableRandom root = new SplittableRandom(seed);
+        ArrayDeque<ForkJoinTask<double[]>> pending = new ArrayDeque<>();
+        try (Sink sink = output.toString().endsWith(".bin") ? new BinarySink(output, points) : new CsvSink(output)) {
+            long next = 0;
+            for (long written = 0; written < blocks; written++) {
+                // Keep a bounded number of blocks in flight ahead of the writer
+                while (next < blocks && pending.size() < ahead) {
+                    long from = next * BLOCK_POINTS;
+                    long to = Math.min(from + BLOCK_POINTS, points);
+                    SplittableRandom random = root.split();
+                    pending.add(pool.submit(() -> solveBlock(from, to, initialGuess, tolerance, maxIterations, random)));
+                    next++;
+                }
+                sink.write(pending.poll().join());
+            }
+        }
+        return points;
+    }
+
+    // Solve grid points [from, to) into rows of COLUMNS.length values
+    double[] solveBlock(long from, long to, double initialGuess, double tolerance, int maxIterations,
+                        SplittableRandom random) {
+        int width = COLUMNS.length;
+        double[] rows = new double[(int) (to - from) * width];
+        int digitCount = maxDigits - minDigits + 1;
+        for (long index = from; index < to; index++) {
+            // Mixed-radix decode, error magnitude varying fastest
+            long rest = index;
+            int e = (int) (rest % errors.count);
+            rest /= errors.count;
+            int d = (int) (rest % digitCount);
+            rest /= digitCount;
+            int k = (int) (rest % c.count);
+            rest /= c.count;
+            int j = (int) (rest % b.count);
+            int i = (int) (rest / b.count);
+
+            double av = a.value(i);
+            double bv = b.value(j);
+            double cv = c.value(k);
+            int digits = minDigits + d;
+            double error = errors.value(e);
+            double standard = ErrorAnalysisWithNewton.newtonTrial(av, bv, cv, initialGuess, 0, tolerance, maxIterations, null);
+            double truncation = ErrorAnalysisWithNewton.truncationTrial(av, bv, cv, initialGuess, digits, tolerance, maxIterations);
+            double propagation = ErrorAnalysisWithNewton.newtonTrial(av, bv, cv, initialGuess, error, tolerance,
+                    maxIterations, random);
+            double exact = PropagationMonteCarlo.nearestRoot(av, bv, cv, Double.isNaN(standard) ? initialGuess : standard);
+
+            int o = (int) (index - from) * width;
+            rows[o] = av;
+            rows[o + 1] = bv;
+            rows[o + 2] = cv;
+            rows[o + 3] = digits;
+            rows[o + 4] = error;
+            rows[o + 5] = exact;
+            rows[o + 6] = standard;
+            rows[o + 7] = truncation;
+            rows[o + 8] = propagation;
+        }
+        return rows;
+    }
+
+    // Destination for completed blocks, written in grid order
+    interface Sink extends Closeable {
+        void write(double[] rows) throws IOException;
+    }
+
+    static class CsvSink implements Sink {
+        private final BufferedWriter writer;
+        private final StringBuilder line = new StringBuilder();
+
+        CsvSink(Path path) throws IOException {
+            writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII);
+            writer.write(String.join(",", COLUMNS));
+            writer.newLine();
+        }
+
+        @Override
+        public void write(double[] rows) throws IOException {
+            int width = COLUMNS.length;
+            for (int o = 0; o < rows.length; o += width) {
+                line.setLength(0);
+                for (int col = 0; col < width; col++) {
+                    if (col > 0) {
+                        line.append(',');
+                    }
+                    if (col == 3) {
+                        line.append((int) rows[o + col]);
+                    } else {
+                        line.append(rows[o + col]);
+                    }
+                }
+                line.append('\n');
+                writer.append(line);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    static class BinarySink implements Sink {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+        BinarySink(Path path, long rows) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(SWEEP_MAGIC).putInt(COLUMNS.length).putLong(rows);
+        }
+
+        @Override
+        public void write(double[] rows) throws IOException {
+            int done = 0;
+            while (done < rows.length) {
+                if (buffer.remaining() < 8) {
+                    drain();
+                }
+                int count = Math.min(rows.length - done, buffer.remaining() / 8);
+                buffer.asDoubleBuffer().put(rows, done, count);
+                buffer.position(buffer.position() + 8 * count);
+                done += count;
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A real polynomial of any degree, coefficients highest degree first (so {a, b, c} is a x^2 + b x + c),
+ * the same order RootDispatcher uses.
+ * Evaluation uses Horner's rule; the value and the derivative come out of the same pass.
+ */
+public final class Polynomial implements DoubleUnaryOperator {
+
+    private final double[] coefficients;
+
+    // Leading zero coefficients are dropped, so the degree is the true degree (0 for the zero polynomial)
+    public Polynomial(double... coefficients) {
+        if (coefficients.length == 0) {
+            throw new IllegalArgumentException("Polynomial needs at least one coefficient");
+        }
+        int first = 0;
+        while (first < coefficients.length - 1 && coefficients[first] == 0) {
+            first++;
+        }
+        this.coefficients = Arrays.copyOfRange(coefficients, first, coefficients.length);
+    }
+
+    public int degree() {
+        return coefficients.length - 1;
+    }
+
+    // Coefficient of x^(degree - i)
+    public double coefficient(int i) {
+        return coefficients[i];
+    }
+
+    public double[] coefficients() {
+        return coefficients.clone();
+    }
+
+    @Override
+    public double applyAsDouble(double x) {
+        return horner(coefficients, 0, coefficients.length, x);
+    }
+
+    // Writes p(x) to out[0] and p'(x) to out[1]
+    public void evaluate(double x, double[] out) {
+        horner(coefficients, 0, coefficients.length, x, out);
+    }
+
+    public Polynomial derivative() {
+        int degree = degree();
+        if (degree == 0) {
+            return new Polynomial(0.0);
+        }
+        double[] d = new double[degree];
+        for (int i = 0; i < degree; i++) {
+            d[i] = coefficients[i] * (degree - i);
+        }
+        return new Polynomial(d);
+    }
+
+    // All roots, real and complex, by the Aberth-Ehrlich method
+    public PolynomialRootSolver.Roots roots() {
+        return PolynomialRootSolver.solve(coefficients, PolynomialRootSolver.DEFAULT_TOLERANCE);
+    }
+
+    // Real roots in ascending order, polished with Brent's method where they are bracketed
+    public double[] realRoots() {
+        return roots().realRoots(this);
+    }
+
+    /**
+     * Horner's rule over c[offset .. offset + length), highest degree first.
+     * Static so batch code can evaluate polynomials stored back to back in one array.
+     */
+    static double horner(double[] c, int offset, int length, double x) {
+        double value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            value = value * x + c[i];
+        }
+        return value;
+    }
+
+    // Value to out[0] and derivative to out[1] in one pass: p' is accumulated alongside p
+    static void horner(double[] c, int offset, int length, double x, double[] out) {
+        double value = 0;
+        double derivative = 0;
+        for (int i = offset; i < offset + length; i++) {
+            derivative = derivative * x + value;
+            value = value * x + c[i];
+        }
+        out[0] = value;
+        out[1] = derivative;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        int degree = degree();
+        for (int i = 0; i <= degree; i++) {
+            double c = coefficients[i];
+            if (c == 0 && degree > 0) {
+                continue;
+            }
+            if (text.length() > 0) {
+                text.append(c < 0 ? " - " : " + ");
+                c = Math.abs(c);
+            }
+            text.append(c);
+            int power = degree - i;
+            if (power > 0) {
+                text.append(power == 1 ? " x" : " x^" + power);
+            }
+        }
+        return text.toString();
+    }
+}
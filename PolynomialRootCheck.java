@@ -0,0 +1,74 @@
+import java.util.Arrays;
+
+/**
+ * Regression checks for Polynomial.realRoots: multiple roots, exact zero roots and a few well-known
+ * hard cases. Prints one line per case and exits with status 1 if any of them fails.
+ * Run with:
+ *   javac PolynomialRootCheck.java
+ *   java PolynomialRootCheck
+ */
+public class PolynomialRootCheck {
+
+    private static int failures;
+
+    public static void main(String[] args) {
+        // (x - 1)^3 and (x - 1)^4: clusters of estimates around a multiple root
+        check("(x-1)^3", new Polynomial(1, -3, 3, -1), new double[] {1, 1, 1}, 1e-9);
+        check("(x-1)^4", new Polynomial(1, -4, 6, -4, 1), new double[] {1, 1, 1, 1}, 1e-9);
+        check("(x+2)^3 (x-3)", new Polynomial(1, 3, -6, -28, -24), new double[] {-2, -2, -2, 3}, 1e-9);
+        check("(x-1)^2 (x^2+1)", new Polynomial(1, -2, 2, -2, 1), new double[] {1, 1}, 1e-9);
+        // x^4 - 2x^2: the double root at 0 is split off exactly and must stay exactly 0
+        check("x^4-2x^2", new Polynomial(1, 0, -2, 0, 0), new double[] {-Math.sqrt(2), 0, 0, Math.sqrt(2)}, 0);
+        check("x^3-x", new Polynomial(1, 0, -1, 0), new double[] {-1, 0, 1}, 1e-15);
+        check("x^2+1", new Polynomial(1, 0, 1), new double[0], 0);
+
+        // Close but distinct complex pair must not be mistaken for a double real root
+        check("(x-1)^2+1e-6", new Polynomial(1, -2, 1 + 1e-6), new double[0], 0);
+
+        double[] wilkinson = {1};
+        for (int k = 1; k <= 10; k++) {
+            wilkinson = multiply(wilkinson, new double[] {1, -k});
+        }
+        check("Wilkinson 10", new Polynomial(wilkinson), new double[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, 1e-7);
+
+        PolynomialRootSolver.Roots roots = new Polynomial(1, 0, 0, 0, 0, 1e300).roots();
+        boolean finite = true;
+        for (int k = 0; k < roots.count(); k++) {
+            finite &= Double.isFinite(roots.real[k]) && Double.isFinite(roots.imaginary[k]);
+        }
+        report("x^5+1e300 converged roots are finite", !roots.converged() || finite,
+                Arrays.toString(roots.real) + " " + Arrays.toString(roots.imaginary));
+
+        if (failures > 0) {
+            System.out.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("All checks passed");
+    }
+
+    private static void check(String name, Polynomial p, double[] expected, double tolerance) {
+        double[] actual = p.realRoots();
+        boolean ok = actual.length == expected.length;
+        for (int k = 0; ok && k < actual.length; k++) {
+            ok = Math.abs(actual[k] - expected[k]) <= tolerance * (1 + Math.abs(expected[k]));
+        }
+        report(name, ok, Arrays.toString(actual));
+    }
+
+    private static void report(String name, boolean ok, String detail) {
+        System.out.println((ok ? "ok     " : "FAILED ") + name + ": " + detail);
+        if (!ok) {
+            failures++;
+        }
+    }
+
+    private static double[] multiply(double[] a, double[] b) {
+        double[] product = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b.length; j++) {
+                product[i + j] += a[i] * b[j];
+            }
+        }
+        return product;
+    }
+}
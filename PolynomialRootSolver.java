@@ -0,0 +1,404 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * All roots of a real polynomial, complex ones included, by the Aberth-Ehrlich method.
+ * Coefficients are highest degree first, like Polynomial and RootDispatcher.
+ * Every root estimate z_k is moved by w / (1 - w * sum_{j != k} 1 / (z_k - z_j)) with w = p(z_k) / p'(z_k),
+ * which converges cubically to simple roots and keeps the estimates from collapsing onto the same root.
+ * Complex numbers are kept as separate real and imaginary doubles, so the iteration allocates nothing.
+ */
+public class PolynomialRootSolver {
+
+    // Relative step size at which a root estimate counts as converged
+    public static final double DEFAULT_TOLERANCE = 1e-12;
+
+    // Aberth iterations before giving up; converged roots stop costing anything
+    public static final int MAX_ITERATIONS = 500;
+
+    // Default number of polynomials solved by one parallel task
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    // Roots whose imaginary part is below this, relative to 1 + |real part|, are reported as real
+    static final double REAL_THRESHOLD = 1e-7;
+
+    // Estimates of an m-fold root lie within about eps^(1/m) of it; this is the allowed multiple of that
+    static final double CLUSTER_SCALE = 16;
+
+    // Roots of one polynomial: root k is real[k] + i * imaginary[k]
+    public static class Roots {
+        public final double[] real;
+        public final double[] imaginary;
+        // Aberth iterations used, or -MAX_ITERATIONS if some estimate had not converged
+        public final int iterations;
+
+        Roots(double[] real, double[] imaginary, int iterations) {
+            this.real = real;
+            this.imaginary = imaginary;
+            this.iterations = iterations;
+        }
+
+        public int count() {
+            return real.length;
+        }
+
+        public boolean converged() {
+            return iterations >= 0;
+        }
+
+        /**
+         * Real roots in ascending order, repeated by multiplicity.
+         * A root of multiplicity m is only found to about eps^(1/m), so its m estimates scatter around it,
+         * off the real axis too; estimates are first grouped into such clusters (see cluster), and a cluster
+         * whose centroid is no further from the real axis than its members are from the centroid counts as
+         * m real roots. A simple real root is polished with Brent's method on a small bracket around the
+         * Aberth estimate, which fixes the last few bits; when f is a Polynomial, an m-fold root is polished
+         * the same way on the (m - 1)-th derivative, where it is a simple root, and otherwise kept at the centroid.
+         */
+        public double[] realRoots(DoubleUnaryOperator f) {
+            int n = real.length;
+            double[] roots = new double[n];
+            int count = 0;
+            boolean[] used = new boolean[n];
+            int[] members = new int[n];
+            for (int k = 0; k < n; k++) {
+                if (used[k] || Double.isNaN(real[k])) {
+                    continue;
+                }
+                int m = cluster(k, used, members);
+                double cr = 0, ci = 0;
+                for (int j = 0; j < m; j++) {
+                    used[members[j]] = true;
+                    cr += real[members[j]];
+                    ci += imaginary[members[j]];
+                }
+                cr /= m;
+                ci /= m;
+                double spread = 0;
+                for (int j = 0; j < m; j++) {
+                    spread = Math.max(spread, Math.hypot(real[members[j]] - cr, imaginary[members[j]] - ci));
+                }
+                if (Math.abs(ci) > Math.max(REAL_THRESHOLD * (1 + Math.abs(cr)), spread)) {
+                    continue;
+                }
+                double x;
+                if (m == 1) {
+                    x = polish(f, cr, Math.abs(imaginary[k]));
+                } else if (f instanceof Polynomial) {
+                    Polynomial g = (Polynomial) f;
+                    for (int d = 1; d < m; d++) {
+                        g = g.derivative();
+                    }
+                    x = polish(g, cr, spread);
+                } else {
+                    x = cr;
+                }
+                for (int j = 0; j < m; j++) {
+                    roots[count++] = x;
+                }
+            }
+            roots = Arrays.copyOf(roots, count);
+            Arrays.sort(roots);
+            return roots;
+        }
+
+        /**
+         * The largest group of unused estimates around estimate k that looks like one root of multiplicity m:
+         * the m estimates nearest to k, all within CLUSTER_SCALE * eps^(1/m) * (1 + |centroid|) of their centroid.
+         * Their indices go to members; returns m, which is 1 when k stands alone.
+         */
+        private int cluster(int k, boolean[] used, int[] members) {
+            int n = real.length;
+            Integer[] nearest = new Integer[n];
+            double[] distance = new double[n];
+            int candidates = 0;
+            for (int j = 0; j < n; j++) {
+                if (!used[j] && !Double.isNaN(real[j])) {
+                    distance[j] = Math.hypot(real[j] - real[k], imaginary[j] - imaginary[k]);
+                    nearest[candidates++] = j;
+                }
+            }
+            Arrays.sort(nearest, 0, candidates, (x, y) -> Double.compare(distance[x], distance[y]));
+            int best = 1;
+            double cr = real[k], ci = imaginary[k];
+            for (int m = 2; m <= candidates; m++) {
+                int j = nearest[m - 1];
+                cr += (real[j] - cr) / m;
+                ci += (imaginary[j] - ci) / m;
+                double radius = CLUSTER_SCALE * Math.pow(Math.ulp(1.0), 1.0 / m) * (1 + Math.hypot(cr, ci));
+                boolean tight = true;
+                for (int i = 0; i < m && tight; i++) {
+                    int member = nearest[i];
+                    tight = Math.hypot(real[member] - cr, imaginary[member] - ci) <= radius;
+                }
+                if (tight) {
+                    best = m;
+                }
+            }
+            for (int i = 0; i < best; i++) {
+                members[i] = nearest[i];
+            }
+            return best;
+        }
+    }
+
+    // Solve one polynomial on the calling thread
+    public static Roots solve(double[] coefficients, double tolerance) {
+        int degree = coefficients.length - 1;
+        double[] re = new double[Math.max(degree, 0)];
+        double[] im = new double[re.length];
+        int iterations = solve(coefficients, 0, degree, re, im, 0, tolerance, new boolean[re.length]);
+        return new Roots(re, im, iterations);
+    }
+
+    /**
+     * Solves a batch of polynomials of the same degree stored back to back in coefficients,
+     * polynomial p taking coefficients[p * (degree + 1) .. (p + 1) * (degree + 1)).
+     * Its roots go to re and im at [p * degree, (p + 1) * degree) and its iteration count to the returned array.
+     * Polynomials whose leading coefficients are zero have fewer roots; the unused slots are NaN.
+     */
+    public static int[] solveParallel(double[] coefficients, int degree, double[] re, double[] im,
+                                      double tolerance, ForkJoinPool pool, int chunkSize) {
+        if (degree < 1 || coefficients.length % (degree + 1) != 0) {
+            throw new IllegalArgumentException("Coefficients must hold whole polynomials of degree " + degree);
+        }
+        int count = coefficients.length / (degree + 1);
+        if (re.length < count * degree || im.length < count * degree) {
+            throw new IllegalArgumentException("Root arrays need room for " + count * degree + " roots");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        int[] iterations = new int[count];
+        pool.invoke(new Chunk(coefficients, degree, 0, count, re, im, iterations, tolerance, chunkSize));
+        return iterations;
+    }
+
+    // Solve the batch on the common pool with the default chunk size
+    public static int[] solveParallel(double[] coefficients, int degree, double[] re, double[] im, double tolerance) {
+        return solveParallel(coefficients, degree, re, im, tolerance, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    // Polynomials [from, to) of a batch; one convergence flag array is shared by the whole range
+    static void solve(double[] coefficients, int degree, int from, int to, double[] re, double[] im,
+                      int[] iterations, double tolerance) {
+        boolean[] done = new boolean[degree];
+        for (int p = from; p < to; p++) {
+            iterations[p] = solve(coefficients, p * (degree + 1), degree, re, im, p * degree, tolerance, done);
+        }
+    }
+
+    // Fork/join task that halves its range until it is no larger than the chunk size
+    static class Chunk extends RecursiveAction {
+        private final double[] coefficients;
+        private final int degree;
+        private final int from, to;
+        private final double[] re, im;
+        private final int[] iterations;
+        private final double tolerance;
+        private final int chunkSize;
+
+        Chunk(double[] coefficients, int degree, int from, int to, double[] re, double[] im,
+              int[] iterations, double tolerance, int chunkSize) {
+            this.coefficients = coefficients;
+            this.degree = degree;
+            this.from = from;
+            this.to = to;
+            this.re = re;
+            this.im = im;
+            this.iterations = iterations;
+            this.tolerance = tolerance;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                solve(coefficients, degree, from, to, re, im, iterations, tolerance);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk(coefficients, degree, from, mid, re, im, iterations, tolerance, chunkSize),
+                    new Chunk(coefficients, degree, mid, to, re, im, iterations, tolerance, chunkSize));
+        }
+    }
+
+    /**
+     * Roots of the polynomial c[offset .. offset + degree] written to re and im starting at out.
+     * Zero roots are split off first and degrees one and two are solved in closed form;
+     * the rest goes to the Aberth iteration. done needs at least degree entries.
+     * @return The number of Aberth iterations, or -MAX_ITERATIONS if it did not converge.
+     */
+    static int solve(double[] c, int offset, int degree, double[] re, double[] im, int out,
+                     double tolerance, boolean[] done) {
+        // Leading zeros lower the degree: those roots are at infinity
+        int first = offset;
+        int last = offset + degree;
+        while (first < last && c[first] == 0) {
+            first++;
+        }
+        int n = last - first;
+        for (int k = n; k < degree; k++) {
+            re[out + k] = Double.NaN;
+            im[out + k] = Double.NaN;
+        }
+        // Trailing zeros are roots at 0
+        while (last > first && c[last] == 0) {
+            n--;
+            last--;
+            re[out + n] = 0;
+            im[out + n] = 0;
+        }
+        if (n == 0) {
+            return 0;
+        }
+        if (n == 1) {
+            re[out] = -c[first + 1] / c[first];
+            im[out] = 0;
+            return 0;
+        }
+        if (n == 2) {
+            quadratic(c[first], c[first + 1], c[first + 2], re, im, out);
+            return 0;
+        }
+        return aberth(c, first, n, re, im, out, tolerance, done);
+    }
+
+    // Closed-form roots of a x^2 + b x + c, as a real pair or a conjugate pair
+    private static void quadratic(double a, double b, double c, double[] re, double[] im, int out) {
+        int count = QuadraticSolver.solveInto(a, b, c, re, out);
+        if (count == 2) {
+            im[out] = 0;
+            im[out + 1] = 0;
+        } else if (count == 1) {
+            re[out + 1] = re[out];
+            im[out] = 0;
+            im[out + 1] = 0;
+        } else {
+            double realPart = -b / (2 * a);
+            double imaginaryPart = Math.sqrt(-QuadraticSolver.discriminant(a, b, c)) / Math.abs(2 * a);
+            re[out] = realPart;
+            im[out] = -imaginaryPart;
+            re[out + 1] = realPart;
+            im[out + 1] = imaginaryPart;
+        }
+    }
+
+    // Aberth-Ehrlich iteration for a polynomial of degree n >= 3 with a non-zero constant term
+    private static int aberth(double[] c, int first, int n, double[] re, double[] im, int out,
+                              double tolerance, boolean[] done) {
+        // Start on a circle around the centroid of the roots, with the radius of their geometric mean
+        double center = -c[first + 1] / (n * c[first]);
+        double radius = Math.pow(Math.abs(c[first + n] / c[first]), 1.0 / n);
+        for (int k = 0; k < n; k++) {
+            double angle = 2 * Math.PI * k / n + 0.4;
+            re[out + k] = center + radius * Math.cos(angle);
+            im[out + k] = radius * Math.sin(angle);
+            done[k] = false;
+        }
+
+        for (int iteration = 1; iteration <= MAX_ITERATIONS; iteration++) {
+            boolean converged = true;
+            for (int k = 0; k < n; k++) {
+                if (done[k]) {
+                    continue;
+                }
+                double zr = re[out + k];
+                double zi = im[out + k];
+
+                // p(z) and p'(z) by complex Horner, plus the rounding error bound sum |c_j| |z|^(n-j)
+                double pr = 0, pi = 0, dr = 0, di = 0;
+                double modulus = Math.hypot(zr, zi);
+                double bound = 0;
+                for (int j = first; j <= first + n; j++) {
+                    double t = dr * zr - di * zi + pr;
+                    di = dr * zi + di * zr + pi;
+                    dr = t;
+                    t = pr * zr - pi * zi + c[j];
+                    pi = pr * zi + pi * zr;
+                    pr = t;
+                    bound = bound * modulus + Math.abs(c[j]);
+                }
+                if (pr == 0 && pi == 0) {
+                    done[k] = true;
+                    continue;
+                }
+                // Once p(z) is down to rounding noise this is the last step worth taking
+                boolean noisy = Math.hypot(pr, pi) <= 2 * n * Math.ulp(1.0) * bound;
+                double dd = dr * dr + di * di;
+                if (dd == 0) {
+                    // Stationary point: nudge the estimate and try again next sweep
+                    re[out + k] = zr + tolerance * (1 + Math.abs(zr));
+                    im[out + k] = zi + tolerance * (1 + Math.abs(zi));
+                    converged = false;
+                    continue;
+                }
+                // Newton correction w = p / p'
+                double wr = (pr * dr + pi * di) / dd;
+                double wi = (pi * dr - pr * di) / dd;
+
+                // Repulsion from the other estimates: s = sum 1 / (z_k - z_j)
+                double sr = 0, si = 0;
+                for (int j = 0; j < n; j++) {
+                    if (j == k) {
+                        continue;
+                    }
+                    double ar = zr - re[out + j];
+                    double ai = zi - im[out + j];
+                    double aa = ar * ar + ai * ai;
+                    if (aa != 0) {
+                        sr += ar / aa;
+                        si -= ai / aa;
+                    }
+                }
+
+                // Step w / (1 - w s)
+                double qr = 1 - (wr * sr - wi * si);
+                double qi = -(wr * si + wi * sr);
+                double qq = qr * qr + qi * qi;
+                double stepR = qq == 0 ? wr : (wr * qr + wi * qi) / qq;
+                double stepI = qq == 0 ? wi : (wi * qr - wr * qi) / qq;
+                zr -= stepR;
+                zi -= stepI;
+                re[out + k] = zr;
+                im[out + k] = zi;
+
+                if (!Double.isFinite(zr) || !Double.isFinite(zi)) {
+                    // Thrown off to infinity: start this estimate again from a fresh point on the circle
+                    double angle = 2 * Math.PI * k / n + 0.4 + iteration;
+                    re[out + k] = center + radius * Math.cos(angle);
+                    im[out + k] = radius * Math.sin(angle);
+                    converged = false;
+                } else if (noisy || Math.hypot(stepR, stepI) <= tolerance * Math.hypot(zr, zi)) {
+                    done[k] = true;
+                } else {
+                    converged = false;
+                }
+            }
+            if (converged) {
+                return iteration;
+            }
+        }
+        return -MAX_ITERATIONS;
+    }
+
+    // Refine a real root estimate with Brent's method when f changes sign close to it; exact roots are kept
+    static double polish(DoubleUnaryOperator f, double x, double spread) {
+        if (f.applyAsDouble(x) == 0) {
+            return x;
+        }
+        double h = Math.max(spread, 64 * Math.ulp(x) + Double.MIN_NORMAL);
+        double lo = x - h;
+        double hi = x + h;
+        double fLo = f.applyAsDouble(lo);
+        double fHi = f.applyAsDouble(hi);
+        // A zero end value means f underflowed there, not that the end is a better root than x
+        if (fLo == 0 || fHi == 0 || fLo * fHi > 0) {
+            return x;
+        }
+        double root = RootFinding.brent(f, lo, fLo, hi, fHi, 0, RootFinding.DEFAULT_MAX_ITERATIONS, null, 0);
+        return Double.isNaN(root) ? x : root;
+    }
+}
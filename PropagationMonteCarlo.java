@@ -0,0 +1,249 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo version of ErrorAnalysisWithNewton.newtonsMethodWithPropagationError: runs many seeded trials
+ * of Newton's Method with a randomly perturbed derivative and summarizes how far the roots land from the
+ * exact one.
+ * Trials are cut into fixed blocks of BLOCK_TRIALS, and block k always gets the k-th generator split off
+ * SplittableRandom(seed), so the result depends only on the seed and not on the pool or thread timing.
+ * Each block keeps its own statistics and they are merged pairwise up the fork/join tree, without locks.
+ */
+public class PropagationMonteCarlo {
+
+    // Trials per block; also the unit of parallel work
+    static final int BLOCK_TRIALS = 1 << 16;
+
+    // |error| histogram: one bucket per binary exponent, split into 2^SUB_BITS linear sub-buckets (about 6% wide)
+    static final int SUB_BITS = 4;
+    static final int MIN_EXPONENT = -100;
+    static final int MAX_EXPONENT = 30;
+    static final int HISTOGRAM_SIZE = (MAX_EXPONENT - MIN_EXPONENT + 1) << SUB_BITS;
+
+    // Summary of a run
+    public static class Result {
+        public final long trials;
+        public final long converged;
+        // The closed-form root the errors are measured against, or NaN when the equation has no real root
+        public final double exactRoot;
+        // Signed error (root - exactRoot) over the converged trials
+        public final double meanError;
+        public final double errorVariance;
+        private final long[] histogram;
+        private final long zeroErrors;
+
+        Result(long trials, long converged, double exactRoot, double meanError, double errorVariance,
+               long[] histogram, long zeroErrors) {
+            this.trials = trials;
+            this.converged = converged;
+            this.exactRoot = exactRoot;
+            this.meanError = meanError;
+            this.errorVariance = errorVariance;
+            this.histogram = histogram;
+            this.zeroErrors = zeroErrors;
+        }
+
+        public double convergenceRate() {
+            return trials == 0 ? 0 : (double) converged / trials;
+        }
+
+        public double errorStandardDeviation() {
+            return Math.sqrt(errorVariance);
+        }
+
+        // |error| below which a fraction q of the converged trials fall, to within one sub-bucket
+        public double absoluteErrorPercentile(double q) {
+            if (q < 0 || q > 1) {
+                throw new IllegalArgumentException("Percentile must be in [0, 1]: " + q);
+            }
+            long total = zeroErrors;
+            for (long count : histogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return Double.NaN;
+            }
+            long target = Math.max(1, (long) Math.ceil(q * total));
+            long seen = zeroErrors;
+            if (seen >= target) {
+                return 0;
+            }
+            for (int k = 0; k < histogram.length; k++) {
+                seen += histogram[k];
+                if (seen >= target) {
+                    return bucketUpperEdge(k);
+                }
+            }
+            return Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d trials, %.2f%% converged, mean error %.3e, std dev %.3e, |error| p50 %.2e p95 %.2e p99 %.2e",
+                    trials, 100 * convergenceRate(), meanError, errorStandardDeviation(),
+                    absoluteErrorPercentile(0.5), absoluteErrorPercentile(0.95), absoluteErrorPercentile(0.99));
+        }
+    }
+
+    // Run on the common pool
+    public static Result run(double a, double b, double c, double initialGuess, double initialError,
+                             double tolerance, int maxIterations, long trials, long seed) {
+        return run(a, b, c, initialGuess, initialError, tolerance, maxIterations, trials, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the given number of trials of newtonsMethodWithPropagationError and measures every converged root
+     * against the closed-form root nearest to the unperturbed Newton result.
+     */
+    public static Result run(double a, double b, double c, double initialGuess, double initialError,
+                             double tolerance, int maxIterations, long trials, long seed, ForkJoinPool pool) {
+        if (trials < 0) {
+            throw new IllegalArgumentException("Number of trials must not be negative: " + trials);
+        }
+        double exactRoot = exactRoot(a, b, c, initialGuess, tolerance, maxIterations);
+        int blocks = (int) ((trials + BLOCK_TRIALS - 1) / BLOCK_TRIALS);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[blocks];
+        for (int k = 0; k < blocks; k++) {
+            generators[k] = root.split();
+        }
+        Trials task = new Trials(a, b, c, initialGuess, initialError, tolerance, maxIterations, exactRoot,
+                trials, generators, 0, blocks);
+        Stats stats = blocks == 0 ? new Stats() : pool.invoke(task);
+        double mean = stats.count == 0 ? Double.NaN : stats.mean;
+        double variance = stats.count == 0 ? Double.NaN : stats.count == 1 ? 0 : stats.m2 / (stats.count - 1);
+        return new Result(trials, stats.converged, exactRoot, mean, variance, stats.histogram, stats.zeroErrors);
+    }
+
+    // Closed-form root nearest to where the unperturbed iteration ends up
+    static double exactRoot(double a, double b, double c, double initialGuess, double tolerance, int maxIterations) {
+        double standard = ErrorAnalysisWithNewton.newtonTrial(a, b, c, initialGuess, 0, tolerance, maxIterations, null);
+        return nearestRoot(a, b, c, Double.isNaN(standard) ? initialGuess : standard);
+    }
+
+    // Closed-form root of a x^2 + b x + c nearest to x, or NaN when there is no real root
+    static double nearestRoot(double a, double b, double c, double x) {
+        double[] roots = new double[2];
+        int count = QuadraticSolver.solveInto(a, b, c, roots, 0);
+        if (count == 1) {
+            return roots[0];
+        }
+        if (count == 2) {
+            return Math.abs(roots[0] - x) <= Math.abs(roots[1] - x) ? roots[0] : roots[1];
+        }
+        return count == QuadraticSolver.ALL_REAL_NUMBERS ? x : Double.NaN;
+    }
+
+    // Converged trials, Welford running mean and sum of squared deviations of the error, and the |error| histogram
+    static final class Stats {
+        long converged;
+        long count;
+        double mean;
+        double m2;
+        long zeroErrors;
+        final long[] histogram = new long[HISTOGRAM_SIZE];
+
+        void add(double error) {
+            count++;
+            double delta = error - mean;
+            mean += delta / count;
+            m2 += delta * (error - mean);
+            double magnitude = Math.abs(error);
+            if (magnitude == 0) {
+                zeroErrors++;
+            } else if (!Double.isNaN(magnitude)) {
+                histogram[bucket(magnitude)]++;
+            }
+        }
+
+        // Chan et al. pairwise combination of two Welford summaries
+        Stats merge(Stats other) {
+            long total = count + other.count;
+            if (total != 0) {
+                double delta = other.mean - mean;
+                m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+                mean += delta * other.count / total;
+            }
+            count = total;
+            converged += other.converged;
+            zeroErrors += other.zeroErrors;
+            for (int k = 0; k < HISTOGRAM_SIZE; k++) {
+                histogram[k] += other.histogram[k];
+            }
+            return this;
+        }
+    }
+
+    static int bucket(double magnitude) {
+        int exponent = Math.getExponent(magnitude);
+        if (exponent < MIN_EXPONENT) {
+            return 0;
+        }
+        if (exponent > MAX_EXPONENT) {
+            return HISTOGRAM_SIZE - 1;
+        }
+        int sub = (int) ((Double.doubleToRawLongBits(magnitude) >>> (52 - SUB_BITS)) & ((1 << SUB_BITS) - 1));
+        return ((exponent - MIN_EXPONENT) << SUB_BITS) | sub;
+    }
+
+    static double bucketUpperEdge(int bucket) {
+        int exponent = (bucket >> SUB_BITS) + MIN_EXPONENT;
+        int sub = bucket & ((1 << SUB_BITS) - 1);
+        return Math.scalb(1.0 + (sub + 1.0) / (1 << SUB_BITS), exponent);
+    }
+
+    // Fork/join task over blocks [from, to); splits the same way whatever the pool size
+    static class Trials extends RecursiveTask<Stats> {
+        private final double a, b, c, initialGuess, initialError, tolerance;
+        private final int maxIterations;
+        private final double exactRoot;
+        private final long trials;
+        private final SplittableRandom[] generators;
+        private final int from, to;
+
+        Trials(double a, double b, double c, double initialGuess, double initialError, double tolerance,
+               int maxIterations, double exactRoot, long trials, SplittableRandom[] generators, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.initialGuess = initialGuess;
+            this.initialError = initialError;
+            this.tolerance = tolerance;
+            this.maxIterations = maxIterations;
+            this.exactRoot = exactRoot;
+            this.trials = trials;
+            this.generators = generators;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                Trials left = new Trials(a, b, c, initialGuess, initialError, tolerance, maxIterations, exactRoot,
+                        trials, generators, from, mid);
+                Trials right = new Trials(a, b, c, initialGuess, initialError, tolerance, maxIterations, exactRoot,
+                        trials, generators, mid, to);
+                right.fork();
+                Stats stats = left.compute();
+                return stats.merge(right.join());
+            }
+            Stats stats = new Stats();
+            SplittableRandom random = generators[from];
+            long count = Math.min(BLOCK_TRIALS, trials - (long) from * BLOCK_TRIALS);
+            for (long t = 0; t < count; t++) {
+                double root = ErrorAnalysisWithNewton.newtonTrial(a, b, c, initialGuess, initialError, tolerance,
+                        maxIterations, random);
+                if (!Double.isNaN(root)) {
+                    stats.converged++;
+                    if (!Double.isNaN(exactRoot)) {
+                        stats.add(root - exactRoot);
+                    }
+                }
+            }
+            return stats;
+        }
+    }
+}
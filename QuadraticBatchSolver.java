@@ -0,0 +1,265 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleUnaryOperator;
+
+public class QuadraticBatchSolver {
+
+    // Iteration cap for the methods that have no natural stopping point
+    public static final int MAX_ITERATIONS = 200;
+
+    // Default number of equations solved by one parallel task
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    public enum Method {
+        BISECTION, SECANT, FIXED_POINT, BRENT, ANALYTIC
+    }
+
+    /**
+     * Solves a[i] x^2 + b[i] x + c[i] = 0 for every i in [from, to) and records the root,
+     * iteration count, function evaluations, residual |f| and status in result at index i.
+     * Coefficients are passed as separate arrays and f is evaluated inline, so the loop boxes
+     * nothing and allocates nothing. Equations the method cannot solve get a NaN root.
+     * For bisection and Brent's method x0 and x1 are the interval ends, for the secant method the two
+     * starting points, and fixed-point iteration starts from x0. ANALYTIC uses the closed-form
+     * QuadraticSolver and reports the smallest real root in [x0, x1] with zero iterations.
+     */
+    public static void solve(Method method, double[] a, double[] b, double[] c, int from, int to,
+                             double x0, double x1, double tolerance, RootBatchResult result) {
+        // One reusable function object per range keeps Brent's method allocation-free per equation
+        Quadratic quadratic = method == Method.BRENT ? new Quadratic() : null;
+        double[] scratch = method == Method.ANALYTIC ? new double[2] : null;
+        for (int i = from; i < to; i++) {
+            switch (method) {
+                case BISECTION:
+                    bisection(a[i], b[i], c[i], x0, x1, tolerance, result, i);
+                    break;
+                case SECANT:
+                    secant(a[i], b[i], c[i], x0, x1, tolerance, result, i);
+                    break;
+                case BRENT:
+                    quadratic.set(a[i], b[i], c[i]);
+                    brent(quadratic, x0, x1, tolerance, result, i);
+                    break;
+                case ANALYTIC:
+                    analytic(a[i], b[i], c[i], x0, x1, scratch, result, i);
+                    break;
+                default:
+                    fixedPoint(a[i], b[i], c[i], x0, tolerance, result, i);
+                    break;
+            }
+        }
+    }
+
+    // Solve the whole batch on the calling thread
+    public static RootBatchResult solve(Method method, double[] a, double[] b, double[] c,
+                                        double x0, double x1, double tolerance) {
+        checkLengths(a, b, c);
+        RootBatchResult result = new RootBatchResult(a.length);
+        solve(method, a, b, c, 0, a.length, x0, x1, tolerance, result);
+        return result;
+    }
+
+    // Solve the whole batch on the common pool with the default chunk size
+    public static RootBatchResult solveParallel(Method method, double[] a, double[] b, double[] c,
+                                                double x0, double x1, double tolerance) {
+        return solveParallel(method, a, b, c, x0, x1, tolerance, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Splits the batch into chunks of at most chunkSize equations and solves them on the pool.
+     * Every equation writes only its own slot of the result, so the tasks share nothing.
+     */
+    public static RootBatchResult solveParallel(Method method, double[] a, double[] b, double[] c,
+                                                double x0, double x1, double tolerance,
+                                                ForkJoinPool pool, int chunkSize) {
+        return solveParallel(method, a, b, c, x0, x1, tolerance, pool, chunkSize, null);
+    }
+
+    // Same as solveParallel, with every chunk recording its outcomes into telemetry as soon as it finishes
+    public static RootBatchResult solveParallel(Method method, double[] a, double[] b, double[] c,
+                                                double x0, double x1, double tolerance,
+                                                ForkJoinPool pool, int chunkSize, SolverTelemetry telemetry) {
+        checkLengths(a, b, c);
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        RootBatchResult result = new RootBatchResult(a.length);
+        pool.invoke(new Chunk(method, a, b, c, 0, a.length, x0, x1, tolerance, result, chunkSize, telemetry));
+        return result;
+    }
+
+    // Fork/join task that halves its range until it is no larger than the chunk size
+    static class Chunk extends RecursiveAction {
+        private final Method method;
+        private final double[] a, b, c;
+        private final int from, to;
+        private final double x0, x1, tolerance;
+        private final RootBatchResult result;
+        private final int chunkSize;
+        private final SolverTelemetry telemetry;
+
+        Chunk(Method method, double[] a, double[] b, double[] c, int from, int to,
+              double x0, double x1, double tolerance, RootBatchResult result, int chunkSize,
+              SolverTelemetry telemetry) {
+            this.method = method;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.from = from;
+            this.to = to;
+            this.x0 = x0;
+            this.x1 = x1;
+            this.tolerance = tolerance;
+            this.result = result;
+            this.chunkSize = chunkSize;
+            this.telemetry = telemetry;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                solve(method, a, b, c, from, to, x0, x1, tolerance, result);
+                if (telemetry != null) {
+                    telemetry.record(result, from, to);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk(method, a, b, c, from, mid, x0, x1, tolerance, result, chunkSize, telemetry),
+                    new Chunk(method, a, b, c, mid, to, x0, x1, tolerance, result, chunkSize, telemetry));
+        }
+    }
+
+    // a x^2 + b x + c with coefficients that can be swapped between equations
+    static final class Quadratic implements DoubleUnaryOperator {
+        private double a, b, c;
+
+        void set(double a, double b, double c) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+        }
+
+        @Override
+        public double applyAsDouble(double x) {
+            return (a * x + b) * x + c;
+        }
+    }
+
+    private static void checkLengths(double[] a, double[] b, double[] c) {
+        if (b.length != a.length || c.length != a.length) {
+            throw new IllegalArgumentException("Coefficient arrays must have the same length");
+        }
+    }
+
+    // Same steps as RootFinding.bisectionMethod; fails when [start, end] does not bracket a sign change
+    static void bisection(double a, double b, double c, double start, double end, double tolerance,
+                          RootBatchResult result, int i) {
+        double fStart = (a * start + b) * start + c;
+        double fEnd = (a * end + b) * end + c;
+        if (fStart * fEnd > 0) {
+            result.set(i, Double.NaN, 0, 2, Double.NaN, RootBatchResult.Status.NO_BRACKET);
+            return;
+        }
+        double mid = start;
+        double fMid = fStart;
+        int iteration = 0;
+        while ((end - start) >= tolerance) {
+            iteration++;
+            mid = (start + end) / 2;
+            fMid = (a * mid + b) * mid + c;
+            if (fMid == 0.0) {
+                break;
+            } else if (fStart * fMid < 0) {
+                end = mid;
+            } else {
+                start = mid;
+                fStart = fMid;
+            }
+        }
+        result.set(i, mid, iteration, 2 + iteration, Math.abs(fMid), RootBatchResult.Status.CONVERGED);
+    }
+
+    // Closed-form roots; fails when no real root lies in [start, end]
+    static void analytic(double a, double b, double c, double start, double end, double[] scratch,
+                         RootBatchResult result, int i) {
+        int count = QuadraticSolver.solveInto(a, b, c, scratch, 0);
+        if (count == QuadraticSolver.ALL_REAL_NUMBERS) {
+            result.set(i, start, 0, 0, 0.0, RootBatchResult.Status.CONVERGED);
+            return;
+        }
+        for (int k = 0; k < count; k++) {
+            if (scratch[k] >= start && scratch[k] <= end) {
+                double root = scratch[k];
+                result.set(i, root, 0, 0, Math.abs((a * root + b) * root + c), RootBatchResult.Status.CONVERGED);
+                return;
+            }
+        }
+        result.set(i, Double.NaN, 0, 0, Double.NaN,
+                count == 0 ? RootBatchResult.Status.NO_REAL_ROOT : RootBatchResult.Status.NO_BRACKET);
+    }
+
+    // Same steps as RootFinding.brentsMethod; fails when [start, end] does not bracket a sign change
+    static void brent(Quadratic f, double start, double end, double tolerance, RootBatchResult result, int i) {
+        double fStart = f.applyAsDouble(start);
+        double fEnd = f.applyAsDouble(end);
+        if (fStart * fEnd > 0) {
+            result.set(i, Double.NaN, 0, 2, Double.NaN, RootBatchResult.Status.NO_BRACKET);
+            return;
+        }
+        RootFinding.brent(f, start, fStart, end, fEnd, tolerance, MAX_ITERATIONS, result, i);
+    }
+
+    // Same steps as RootFinding.secantMethod; fails on a flat secant, divergence, or the iteration cap
+    static void secant(double a, double b, double c, double x0, double x1, double tolerance,
+                       RootBatchResult result, int i) {
+        double f0 = (a * x0 + b) * x0 + c;
+        double f1 = (a * x1 + b) * x1 + c;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            if (Math.abs(x1 - x0) < tolerance) {
+                result.set(i, x1, iteration, 2 + iteration, Math.abs(f1), RootBatchResult.Status.CONVERGED);
+                return;
+            }
+            if (!Double.isFinite(x1)) {
+                result.set(i, Double.NaN, iteration, 2 + iteration, Math.abs(f1), RootBatchResult.Status.DIVERGED);
+                return;
+            }
+            if (f1 - f0 == 0) {
+                result.set(i, Double.NaN, iteration, 2 + iteration, Math.abs(f1), RootBatchResult.Status.FLAT_SECANT);
+                return;
+            }
+            double x2 = x1 - (f1 * (x1 - x0)) / (f1 - f0);
+            x0 = x1;
+            f0 = f1;
+            x1 = x2;
+            f1 = (a * x1 + b) * x1 + c;
+        }
+        result.set(i, Double.NaN, MAX_ITERATIONS, 2 + MAX_ITERATIONS, Math.abs(f1), RootBatchResult.Status.MAX_ITERATIONS);
+    }
+
+    // Same steps as RootFinding.fixedPointIteration with g(x) = -(a x^2 + c) / b; fails when it diverges or b is 0
+    // Evaluations count calls of g; the residual is |f| at the last iterate
+    static void fixedPoint(double a, double b, double c, double guess, double tolerance,
+                           RootBatchResult result, int i) {
+        if (b == 0) {
+            result.set(i, Double.NaN, 0, 0, Double.NaN, RootBatchResult.Status.INVALID_EQUATION);
+            return;
+        }
+        double x0 = guess;
+        double x1 = -((a * x0 * x0 + c) / b);
+        for (int iteration = 1; iteration <= MAX_ITERATIONS; iteration++) {
+            if (Math.abs(x1 - x0) < tolerance) {
+                result.set(i, x1, iteration, iteration, Math.abs((a * x1 + b) * x1 + c), RootBatchResult.Status.CONVERGED);
+                return;
+            }
+            if (!Double.isFinite(x1)) {
+                result.set(i, Double.NaN, iteration, iteration, Double.NaN, RootBatchResult.Status.DIVERGED);
+                return;
+            }
+            x0 = x1;
+            x1 = -((a * x0 * x0 + c) / b);
+        }
+        result.set(i, Double.NaN, MAX_ITERATIONS, MAX_ITERATIONS + 1, Math.abs((a * x1 + b) * x1 + c),
+                RootBatchResult.Status.MAX_ITERATIONS);
+    }
+}
@@ -0,0 +1,88 @@
+public class QuadraticSolver {
+
+    // Return value of solveInto when every x satisfies the equation (a = b = c = 0)
+    public static final int ALL_REAL_NUMBERS = -1;
+
+    // Roots of one quadratic, for callers that prefer an object over output arrays
+    public static class Roots {
+        // Number of distinct real roots (0, 1 or 2), or ALL_REAL_NUMBERS
+        public final int count;
+        // Real roots in ascending order; NaN where there is no root
+        public final double smaller;
+        public final double larger;
+        // Complex conjugate pair realPart +/- i * imaginaryPart when count is 0 and a != 0
+        public final double realPart;
+        public final double imaginaryPart;
+
+        Roots(int count, double smaller, double larger, double realPart, double imaginaryPart) {
+            this.count = count;
+            this.smaller = smaller;
+            this.larger = larger;
+            this.realPart = realPart;
+            this.imaginaryPart = imaginaryPart;
+        }
+
+        public boolean isComplex() {
+            return count == 0 && !Double.isNaN(realPart);
+        }
+    }
+
+    /**
+     * Solves a x^2 + b x + c = 0 in closed form.
+     * Complex roots are reported as a conjugate pair; a = 0 falls back to the linear equation.
+     */
+    public static Roots solve(double a, double b, double c) {
+        double[] roots = new double[2];
+        int count = solveInto(a, b, c, roots, 0);
+        if (count == 0 && a != 0) {
+            double realPart = -b / (2 * a);
+            double imaginaryPart = Math.sqrt(-discriminant(a, b, c)) / Math.abs(2 * a);
+            return new Roots(0, Double.NaN, Double.NaN, realPart, imaginaryPart);
+        }
+        double smaller = count >= 1 ? roots[0] : Double.NaN;
+        double larger = count == 2 ? roots[1] : smaller;
+        return new Roots(count, smaller, larger, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Writes the real roots of a x^2 + b x + c = 0 to out[offset] and out[offset + 1] in ascending order.
+     * Uses q = -(b + sign(b) sqrt(b^2 - 4ac)) / 2, x1 = q / a, x2 = c / q, so neither root is computed
+     * by subtracting two nearly equal numbers. Allocates nothing.
+     * @return The number of distinct real roots (0, 1 or 2), or ALL_REAL_NUMBERS.
+     */
+    public static int solveInto(double a, double b, double c, double[] out, int offset) {
+        if (a == 0) {
+            // Linear or constant equation
+            if (b != 0) {
+                out[offset] = -c / b;
+                return 1;
+            }
+            return c == 0 ? ALL_REAL_NUMBERS : 0;
+        }
+        double disc = discriminant(a, b, c);
+        if (disc < 0) {
+            return 0;
+        }
+        if (disc == 0) {
+            out[offset] = -b / (2 * a);
+            return 1;
+        }
+        double q = -0.5 * (b + Math.copySign(Math.sqrt(disc), b));
+        double x1 = q / a;
+        double x2 = c / q;
+        out[offset] = Math.min(x1, x2);
+        out[offset + 1] = Math.max(x1, x2);
+        return 2;
+    }
+
+    /**
+     * b^2 - 4ac with the rounding error of 4ac recovered by a fused multiply-add (Kahan's method),
+     * so nearly equal b^2 and 4ac do not cancel away the discriminant's sign.
+     */
+    static double discriminant(double a, double b, double c) {
+        double w = 4 * a * c;
+        double e = Math.fma(-4 * a, c, w);
+        double f = Math.fma(b, b, -w);
+        return f + e;
+    }
+}
@@ -0,0 +1,61 @@
+// Roots, iteration counts, function evaluations, residuals and termination status of a batch of equations,
+// one slot per equation
+public class RootBatchResult {
+
+    public enum Status {
+        CONVERGED, NO_BRACKET, NO_REAL_ROOT, FLAT_SECANT, DIVERGED, MAX_ITERATIONS, INVALID_EQUATION, ZERO_DERIVATIVE
+    }
+
+    private static final Status[] STATUSES = Status.values();
+
+    public final double[] roots;
+    public final int[] iterations;
+    public final int[] evaluations;
+    // |f| at the last iterate, also for equations that failed; NaN when f was never evaluated there
+    public final double[] residuals;
+    final byte[] status;
+
+    public RootBatchResult(int size) {
+        roots = new double[size];
+        iterations = new int[size];
+        evaluations = new int[size];
+        residuals = new double[size];
+        status = new byte[size];
+    }
+
+    public int size() {
+        return roots.length;
+    }
+
+    public Status status(int i) {
+        return STATUSES[status[i]];
+    }
+
+    public boolean converged(int i) {
+        return status[i] == Status.CONVERGED.ordinal();
+    }
+
+    // Record the outcome of equation i; failed equations get a NaN root
+    void set(int i, double root, int iterationCount, int evaluationCount, double residual, Status outcome) {
+        roots[i] = outcome == Status.CONVERGED ? root : Double.NaN;
+        iterations[i] = iterationCount;
+        evaluations[i] = evaluationCount;
+        residuals[i] = residual;
+        status[i] = (byte) outcome.ordinal();
+    }
+
+    // Number of equations in [from, to) that converged
+    public int convergedCount(int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (converged(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int convergedCount() {
+        return convergedCount(0, size());
+    }
+}
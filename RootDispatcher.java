@@ -0,0 +1,55 @@
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Picks the cheapest way to find a root: polynomials of degree two or less are solved in closed form
+ * by QuadraticSolver, everything else goes to an iterative RootSolver.
+ */
+public class RootDispatcher {
+
+    /**
+     * Finds a root in [start, end] of the polynomial with the given coefficients,
+     * highest degree first (so {a, b, c} is a x^2 + b x + c).
+     * Degree two or less is answered in constant time; higher degrees use the solver.
+     * @throws ArithmeticException if no root is found in the interval.
+     */
+    public static double findRoot(double[] coefficients, double start, double end, double tolerance, RootSolver solver) {
+        int degree = coefficients.length - 1;
+        if (degree <= 2) {
+            double a = degree == 2 ? coefficients[0] : 0;
+            double b = degree >= 1 ? coefficients[degree - 1] : 0;
+            double c = degree >= 0 ? coefficients[degree] : 0;
+            return quadraticRootIn(a, b, c, start, end);
+        }
+        return solver.solve(x -> horner(coefficients, x), start, end, tolerance);
+    }
+
+    // Degree two or less in closed form, everything else with Brent's method
+    public static double findRoot(double[] coefficients, double start, double end, double tolerance) {
+        return findRoot(coefficients, start, end, tolerance, RootSolver.BRENT);
+    }
+
+    // General functions always go to the iterative solver
+    public static double findRoot(DoubleUnaryOperator f, double start, double end, double tolerance, RootSolver solver) {
+        return solver.solve(f, start, end, tolerance);
+    }
+
+    // Smallest real root of a x^2 + b x + c inside [start, end]
+    static double quadraticRootIn(double a, double b, double c, double start, double end) {
+        double[] roots = new double[2];
+        int count = QuadraticSolver.solveInto(a, b, c, roots, 0);
+        if (count == QuadraticSolver.ALL_REAL_NUMBERS) {
+            return start;
+        }
+        for (int i = 0; i < count; i++) {
+            if (roots[i] >= start && roots[i] <= end) {
+                return roots[i];
+            }
+        }
+        throw new ArithmeticException("Root not found in the interval");
+    }
+
+    // Evaluate the polynomial with Horner's rule
+    static double horner(double[] coefficients, double x) {
+        return Polynomial.horner(coefficients, 0, coefficients.length, x);
+    }
+}
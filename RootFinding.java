@@ -1,75 +1,99 @@
+import java.util.Arrays;
 import java.util.Random;
-import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
 
 public class RootFinding {
 
     public static void main(String[] args) {
         Random rand = new Random();
-        int numEquations = 100;
-        double[][] coefficients = new double[numEquations][3];
+        int numEquations = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : QuadraticBatchSolver.DEFAULT_CHUNK_SIZE;
+        double[] a = new double[numEquations];
+        double[] b = new double[numEquations];
+        double[] c = new double[numEquations];
 
-        // Generate 100 random quadratic equations
+        // Generate random quadratic equations
         for (int i = 0; i < numEquations; i++) {
-            coefficients[i][0] = rand.nextDouble() * 10 - 5; // a: range [-5, 5]
-            coefficients[i][1] = rand.nextDouble() * 10 - 5; // b: range [-5, 5]
-            coefficients[i][2] = rand.nextDouble() * 10 - 5; // c: range [-5, 5]
+            a[i] = rand.nextDouble() * 10 - 5; // a: range [-5, 5]
+            b[i] = rand.nextDouble() * 10 - 5; // b: range [-5, 5]
+            c[i] = rand.nextDouble() * 10 - 5; // c: range [-5, 5]
         }
 
-        for (int i = 0; i < numEquations; i++) {
-            double a = coefficients[i][0];
-            double b = coefficients[i][1];
-            double c = coefficients[i][2];
-            System.out.println("Equation " + (i + 1) + ": " + a + "x^2 + " + b + "x + " + c);
-
-            // Bisection Method
-            long bisectionTime = measureTime(() -> {
-                try {
-                    double root = bisectionMethod(a, b, c, -10, 10, 1e-6);
-                    System.out.println("Bisection Method Root: " + root);
-                } catch (Exception e) {
-                    System.out.println("Bisection Method failed: " + e.getMessage());
-                }
-            });
-            System.out.println("Bisection Method Time: " + bisectionTime + " ns");
-            System.out.println("The Bisection Method works by repeatedly dividing an interval in half and selecting the subinterval in which the root lies, until the desired tolerance is achieved. This guarantees convergence if the function is continuous.");
-
-            // Secant Method
-            long secantTime = measureTime(() -> {
-                try {
-                    double root = secantMethod(a, b, c, -10, 10, 1e-6);
-                    System.out.println("Secant Method Root: " + root);
-                } catch (Exception e) {
-                    System.out.println("Secant Method failed: " + e.getMessage());
-                }
-            });
-            System.out.println("Secant Method Time: " + secantTime + " ns");
-            System.out.println("The Secant Method is an iterative method that uses two initial approximations to estimate the root by drawing a secant line between these points. It converges faster than the Bisection Method but does not guarantee convergence in all cases.");
-
-            // Fixed-Point Iteration
-            long fixedPointTime = measureTime(() -> {
-                try {
-                    double root = fixedPointIteration(a, b, c, 0, 1e-6);
-                    System.out.println("Fixed-Point Iteration Root: " + root);
-                } catch (Exception e) {
-                    System.out.println("Fixed-Point Iteration failed: " + e.getMessage());
-                }
-            });
-            System.out.println("Fixed-Point Iteration Time: " + fixedPointTime + " ns");
-            System.out.println("Fixed-Point Iteration rewrites the equation in the form x = g(x) and iteratively applies g(x) until convergence. The convergence depends on the choice of g(x) and the initial guess.");
-
-            // Brute-Force Method
-            long bruteForceTime = measureTime(() -> {
-                try {
-                    double root = bruteForceRootFinding(a, b, c, -10, 10, 0.01);
-                    System.out.println("Brute-Force Root: " + root);
-                } catch (Exception e) {
-                    System.out.println("Brute-Force Method failed: " + e.getMessage());
+        // Solve the whole set with each method first; nothing is printed inside the timed regions
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        RootBatchResult[] results = new RootBatchResult[5];
+        SolverTelemetry[] telemetry = {
+                new SolverTelemetry("Bisection Method"), new SolverTelemetry("Secant Method"),
+                new SolverTelemetry("Fixed-Point Iteration"), new SolverTelemetry("Brent's Method"),
+                new SolverTelemetry("Closed-Form")
+        };
+        long bisectionTime = measureTime(() -> results[0] = QuadraticBatchSolver.solveParallel(
+                QuadraticBatchSolver.Method.BISECTION, a, b, c, -10, 10, 1e-6, pool, chunkSize, telemetry[0]));
+        long secantTime = measureTime(() -> results[1] = QuadraticBatchSolver.solveParallel(
+                QuadraticBatchSolver.Method.SECANT, a, b, c, -10, 10, 1e-6, pool, chunkSize, telemetry[1]));
+        long fixedPointTime = measureTime(() -> results[2] = QuadraticBatchSolver.solveParallel(
+                QuadraticBatchSolver.Method.FIXED_POINT, a, b, c, 0, 0, 1e-6, pool, chunkSize, telemetry[2]));
+        long brentTime = measureTime(() -> results[3] = QuadraticBatchSolver.solveParallel(
+                QuadraticBatchSolver.Method.BRENT, a, b, c, -10, 10, 1e-6, pool, chunkSize, telemetry[3]));
+        long analyticTime = measureTime(() -> results[4] = QuadraticBatchSolver.solveParallel(
+                QuadraticBatchSolver.Method.ANALYTIC, a, b, c, -10, 10, 1e-6, pool, chunkSize, telemetry[4]));
+
+        double[] bruteForceRoots = new double[numEquations];
+        long bruteForceTime = measureTime(() -> IntStream.range(0, numEquations).parallel().forEach(i -> {
+            try {
+                bruteForceRoots[i] = bruteForceRootFinding(a[i], b[i], c[i], -10, 10, 0.01);
+            } catch (ArithmeticException e) {
+                bruteForceRoots[i] = Double.NaN;
+            }
+        }));
+
+        // Render the results once all solving is done; large batches only get the summary
+        if (numEquations <= 1000) {
+            for (int i = 0; i < numEquations; i++) {
+                System.out.println("Equation " + (i + 1) + ": " + a[i] + "x^2 + " + b[i] + "x + " + c[i]);
+                printRoot("Bisection Method", results[0], i);
+                printRoot("Secant Method", results[1], i);
+                printRoot("Fixed-Point Iteration", results[2], i);
+                printRoot("Brent's Method", results[3], i);
+                printRoot("Closed-Form", results[4], i);
+                if (Double.isNaN(bruteForceRoots[i])) {
+                    System.out.println("Brute-Force Method failed: Root not found in the interval");
+                } else {
+                    System.out.println("Brute-Force Root: " + bruteForceRoots[i]);
                 }
-            });
-            System.out.println("Brute-Force Method Time: " + bruteForceTime + " ns");
-            System.out.println("The Brute-Force Method checks values incrementally within a given range to find a root. It is simple but computationally expensive compared to other methods.");
+                System.out.println();
+            }
+        }
+
+        System.out.println("Bisection Method Time: " + bisectionTime + " ns (" + results[0].convergedCount() + "/" + numEquations + " solved)");
+        System.out.println("The Bisection Method works by repeatedly dividing an interval in half and selecting the subinterval in which the root lies, until the desired tolerance is achieved. This guarantees convergence if the function is continuous.");
+        System.out.println("Secant Method Time: " + secantTime + " ns (" + results[1].convergedCount() + "/" + numEquations + " solved)");
+        System.out.println("The Secant Method is an iterative method that uses two initial approximations to estimate the root by drawing a secant line between these points. It converges faster than the Bisection Method but does not guarantee convergence in all cases.");
+        System.out.println("Fixed-Point Iteration Time: " + fixedPointTime + " ns (" + results[2].convergedCount() + "/" + numEquations + " solved)");
+        System.out.println("Fixed-Point Iteration rewrites the equation in the form x = g(x) and iteratively applies g(x) until convergence. The convergence depends on the choice of g(x) and the initial guess.");
+        System.out.println("Brent's Method Time: " + brentTime + " ns (" + results[3].convergedCount() + "/" + numEquations + " solved)");
+        System.out.println("Brent's Method keeps a bracketing interval like the Bisection Method but steps with inverse quadratic interpolation or the secant rule whenever that is safe, so it converges about as fast as the Secant Method while keeping the guarantee of the Bisection Method.");
+        System.out.println("Closed-Form Time: " + analyticTime + " ns (" + results[4].convergedCount() + "/" + numEquations + " solved)");
+        System.out.println("The Closed-Form solver applies the quadratic formula in the form q = -(b + sign(b) sqrt(b^2 - 4ac)) / 2, x1 = q / a, x2 = c / q, which avoids cancellation and needs no iterations. The iterative methods are only needed for functions without such a formula.");
+        System.out.println("Brute-Force Method Time: " + bruteForceTime + " ns");
+        System.out.println("The Brute-Force Method checks values incrementally within a given range to find a root. It is simple but computationally expensive compared to other methods.");
+
+        System.out.println();
+        System.out.println("Convergence summary:");
+        for (SolverTelemetry t : telemetry) {
+            System.out.println(t.summary());
+        }
+    }
 
-            System.out.println();
+    // Print the root found for equation i, or why the method failed
+    private static void printRoot(String method, RootBatchResult result, int i) {
+        if (result.converged(i)) {
+            System.out.println(method + " Root: " + result.roots[i] + " (" + result.iterations[i] + " iterations, "
+                    + result.evaluations[i] + " evaluations, residual " + result.residuals[i] + ")");
+        } else {
+            System.out.println(method + " failed: " + result.status(i));
         }
     }
 
@@ -82,16 +106,24 @@ public class RootFinding {
      * Cons: Slower compared to other methods like Secant or Newton's Method.
      */
     public static double bisectionMethod(double a, double b, double c, double start, double end, double tolerance) {
-        Function<Double, Double> f = (x) -> a * x * x + b * x + c;
+        return bisectionMethod(x -> a * x * x + b * x + c, start, end, tolerance);
+    }
+
+    // Bisection Method for any function, evaluating f once per step and reusing f(start)
+    public static double bisectionMethod(DoubleUnaryOperator f, double start, double end, double tolerance) {
+        double fStart = f.applyAsDouble(start);
         double mid = start;
         while ((end - start) >= tolerance) {
             mid = (start + end) / 2;
-            if (f.apply(mid) == 0.0)
+            double fMid = f.applyAsDouble(mid);
+            if (fMid == 0.0)
                 return mid;
-            else if (f.apply(start) * f.apply(mid) < 0)
+            else if (fStart * fMid < 0)
                 end = mid;
-            else
+            else {
                 start = mid;
+                fStart = fMid;
+            }
         }
         return mid;
     }
@@ -103,19 +135,67 @@ public class RootFinding {
      * It is faster than the Bisection Method but may not always converge.
      */
     public static double secantMethod(double a, double b, double c, double x0, double x1, double tolerance) {
-        Function<Double, Double> f = (x) -> a * x * x + b * x + c;
+        return secantMethod(x -> a * x * x + b * x + c, x0, x1, tolerance);
+    }
+
+    // Secant Method for any function, evaluating f once per step
+    public static double secantMethod(DoubleUnaryOperator f, double x0, double x1, double tolerance) {
+        double f0 = f.applyAsDouble(x0);
+        double f1 = f.applyAsDouble(x1);
         double x2;
         while (Math.abs(x1 - x0) >= tolerance) {
-            if (f.apply(x1) - f.apply(x0) == 0) {
+            if (f1 - f0 == 0) {
                 throw new ArithmeticException("Division by zero in Secant Method");
             }
-            x2 = x1 - (f.apply(x1) * (x1 - x0)) / (f.apply(x1) - f.apply(x0));
+            x2 = x1 - (f1 * (x1 - x0)) / (f1 - f0);
             x0 = x1;
+            f0 = f1;
             x1 = x2;
+            f1 = f.applyAsDouble(x1);
         }
         return x1;
     }
 
+    // Secant Method that gives up after maxIterations steps instead of wandering on an equation with no real root
+    public static double secantMethod(double a, double b, double c, double x0, double x1, double tolerance, int maxIterations) {
+        return secantMethod(x -> a * x * x + b * x + c, x0, x1, tolerance, maxIterations);
+    }
+
+    /**
+     * Secant Method for any function, giving up after maxIterations steps.
+     * Stopping on a short step is not enough: near a minimum of |f| the steps shrink too, so the
+     * result is only accepted if one more secant step from it would also be shorter than tolerance.
+     * @throws ArithmeticException if an iterate is not finite, the secant is flat, the cap is reached
+     *         or the last point is not close to a root.
+     */
+    public static double secantMethod(DoubleUnaryOperator f, double x0, double x1, double tolerance, int maxIterations) {
+        double f0 = f.applyAsDouble(x0);
+        double f1 = f.applyAsDouble(x1);
+        for (int i = 0; i < maxIterations; i++) {
+            if (!Double.isFinite(x1) || !Double.isFinite(f1)) {
+                throw new ArithmeticException("Secant Method diverged");
+            }
+            if (f1 == 0) {
+                return x1;
+            }
+            if (f1 - f0 == 0) {
+                throw new ArithmeticException("Division by zero in Secant Method");
+            }
+            double step = f1 * (x1 - x0) / (f1 - f0);
+            if (Math.abs(x1 - x0) < tolerance) {
+                if (Math.abs(step) < tolerance) {
+                    return x1;
+                }
+                throw new ArithmeticException("Secant Method stalled away from a root: f(" + x1 + ") = " + f1);
+            }
+            x0 = x1;
+            f0 = f1;
+            x1 -= step;
+            f1 = f.applyAsDouble(x1);
+        }
+        throw new ArithmeticException("Secant Method did not converge");
+    }
+
     // Fixed-Point Iteration
     /**
      * Fixed-Point Iteration for finding roots of a quadratic equation.
@@ -126,36 +206,263 @@ public class RootFinding {
         if (b == 0) {
             throw new ArithmeticException("Division by zero in Fixed-Point Iteration");
         }
-        Function<Double, Double> g = (x) -> -((a * x * x + c) / b);
+        return fixedPointIteration(x -> -((a * x * x + c) / b), guess, tolerance);
+    }
+
+    // Fixed-Point Iteration that gives up after maxIterations steps instead of looping forever on a cycle
+    public static double fixedPointIteration(double a, double b, double c, double guess, double tolerance, int maxIterations) {
+        if (b == 0) {
+            throw new ArithmeticException("Division by zero in Fixed-Point Iteration");
+        }
+        return fixedPointIteration(x -> -((a * x * x + c) / b), guess, tolerance, maxIterations);
+    }
+
+    // Fixed-Point Iteration for any g(x)
+    public static double fixedPointIteration(DoubleUnaryOperator g, double guess, double tolerance) {
         double x0 = guess;
-        double x1 = g.apply(x0);
+        double x1 = g.applyAsDouble(x0);
         while (Math.abs(x1 - x0) >= tolerance) {
             x0 = x1;
-            x1 = g.apply(x0);
+            x1 = g.applyAsDouble(x0);
         }
         return x1;
     }
 
+    // Fixed-Point Iteration for any g(x), giving up after maxIterations steps
+    public static double fixedPointIteration(DoubleUnaryOperator g, double guess, double tolerance, int maxIterations) {
+        double x0 = guess;
+        double x1 = g.applyAsDouble(x0);
+        for (int i = 0; i < maxIterations; i++) {
+            if (Math.abs(x1 - x0) < tolerance) {
+                return x1;
+            }
+            x0 = x1;
+            x1 = g.applyAsDouble(x0);
+        }
+        throw new ArithmeticException("Fixed-Point Iteration did not converge");
+    }
+
     // Brute-Force Method
     /**
      * Brute-Force Method for finding roots of a quadratic equation.
      * This method checks values incrementally within a specified range to find the root.
      * It is simple but computationally expensive compared to other methods.
+     * Each grid point is evaluated once and computed as start + k * step, so no error builds up in x.
+     * @return The grid point x where f changes sign between x and x + step.
      */
     public static double bruteForceRootFinding(double a, double b, double c, double start, double end, double step) {
-        for (double x = start; x <= end; x += step) {
-            double fx1 = a * x * x + b * x + c;
-            double fx2 = a * (x + step) * (x + step) + b * (x + step) + c;
+        long points = gridPoints(start, end, step);
+        double fx1 = (a * start + b) * start + c;
+        for (long k = 0; k < points; k++) {
+            double x2 = start + (k + 1) * step;
+            double fx2 = (a * x2 + b) * x2 + c;
             if (fx1 * fx2 <= 0) {
-                return x; // Root found between x and x + step
+                return start + k * step; // Root found between x and x + step
             }
+            fx1 = fx2;
         }
         throw new ArithmeticException("Root not found in the interval");
     }
 
+    // Brute-Force scan for every root of a quadratic equation in [start, end]
+    public static double[] bruteForceAllRoots(double a, double b, double c, double start, double end, double step, double tolerance) {
+        return bruteForceAllRoots(x -> (a * x + b) * x + c, start, end, step, tolerance);
+    }
+
+    /**
+     * Scans [start, end] on a grid of the given step and returns every root it brackets, in ascending order.
+     * Only cells where f changes sign are refined, with Brent's Method down to the tolerance,
+     * so the cost is one evaluation per grid point plus a few per root.
+     * Roots closer together than one step that do not change the sign of f on the grid are not seen.
+     */
+    public static double[] bruteForceAllRoots(DoubleUnaryOperator f, double start, double end, double step, double tolerance) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        long cells = end > start ? (long) Math.ceil((end - start) / step) : 0;
+        double[] roots = new double[4];
+        int count = 0;
+        double x1 = start;
+        double fx1 = f.applyAsDouble(x1);
+        for (long k = 0; k < cells; k++) {
+            double x2 = k == cells - 1 ? end : start + (k + 1) * step;
+            double fx2 = f.applyAsDouble(x2);
+            double root = Double.NaN;
+            if (fx1 == 0) {
+                root = x1;
+            } else if (fx1 * fx2 < 0) {
+                root = brent(f, x1, fx1, x2, fx2, tolerance, DEFAULT_MAX_ITERATIONS, null, 0);
+            }
+            if (!Double.isNaN(root)) {
+                if (count == roots.length) {
+                    roots = Arrays.copyOf(roots, count * 2);
+                }
+                roots[count++] = root;
+            }
+            x1 = x2;
+            fx1 = fx2;
+        }
+        if (fx1 == 0 && end >= start) {
+            roots = Arrays.copyOf(roots, count + 1);
+            roots[count++] = x1;
+        }
+        return Arrays.copyOf(roots, count);
+    }
+
+    // Number of grid points x = start + k * step with x <= end
+    private static long gridPoints(double start, double end, double step) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        return end < start ? 0 : (long) Math.floor((end - start) / step) + 1;
+    }
+
+    // Newton's Method
+    /**
+     * Newton's Method for finding roots of a quadratic equation, without console output.
+     * This method follows the tangent line x = x - f(x) / f'(x) from the initial guess.
+     * It converges quadratically near a simple root but fails when the derivative vanishes.
+     */
+    public static double newtonsMethod(double a, double b, double c, double guess, double tolerance, int maxIterations) {
+        double x = guess;
+        for (int i = 0; i < maxIterations; i++) {
+            double fx = (a * x + b) * x + c;
+            double fpx = 2 * a * x + b;
+            if (fpx == 0) {
+                throw new ArithmeticException("Derivative is zero in Newton's Method");
+            }
+            double xNext = x - fx / fpx;
+            if (Math.abs(xNext - x) < tolerance) {
+                return xNext;
+            }
+            x = xNext;
+        }
+        throw new ArithmeticException("Newton's Method did not converge");
+    }
+
+    // Brent's Method
+    /**
+     * Brent's Method for finding roots of a quadratic equation in [start, end].
+     * This method keeps a bracketing interval like the Bisection Method, but steps with inverse quadratic
+     * interpolation or the secant rule whenever that stays inside the bracket and shrinks it fast enough.
+     * Pros: Converges superlinearly on smooth functions and is still guaranteed to converge.
+     * Cons: Needs an interval where f changes sign.
+     */
+    public static double brentsMethod(double a, double b, double c, double start, double end, double tolerance) {
+        return brentsMethod(x -> a * x * x + b * x + c, start, end, tolerance, DEFAULT_MAX_ITERATIONS);
+    }
+
+    // Iteration cap used by the methods exposed through RootSolver
+    public static final int DEFAULT_MAX_ITERATIONS = 200;
+
+    // Brent's Method for any function; throws if [start, end] has no sign change or the cap is reached
+    public static double brentsMethod(DoubleUnaryOperator f, double start, double end, double tolerance, int maxIterations) {
+        double fStart = f.applyAsDouble(start);
+        double fEnd = f.applyAsDouble(end);
+        if (fStart * fEnd > 0) {
+            throw new ArithmeticException("Brent's Method needs an interval where f changes sign");
+        }
+        double root = brent(f, start, fStart, end, fEnd, tolerance, maxIterations, null, 0);
+        if (Double.isNaN(root)) {
+            throw new ArithmeticException("Brent's Method did not converge");
+        }
+        return root;
+    }
+
+    /**
+     * Brent-Dekker iteration on a bracket [a, b] with f(a) * f(b) <= 0.
+     * Records the iteration count, evaluations (including f(a) and f(b)), residual and status
+     * in result[i] when result is not null.
+     * @return The root, or NaN when the iteration cap is reached.
+     */
+    static double brent(DoubleUnaryOperator f, double a, double fa, double b, double fb, double tolerance,
+                        int maxIterations, RootBatchResult result, int i) {
+        if (fa == 0) {
+            return recordBrent(result, i, a, 0, 2, 0.0);
+        }
+        if (fb == 0) {
+            return recordBrent(result, i, b, 0, 2, 0.0);
+        }
+        double c = a;
+        double fc = fa;
+        double d = b - a;
+        double e = d;
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            // Keep b as the best estimate and [b, c] as the bracket
+            if (fb * fc > 0) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tol = 2 * Math.ulp(b) + 0.5 * tolerance;
+            double m = 0.5 * (c - b);
+            if (Math.abs(m) <= tol || fb == 0) {
+                return recordBrent(result, i, b, iteration, 1 + iteration, Math.abs(fb));
+            }
+            if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+                // Try inverse quadratic interpolation, or the secant rule when only two points differ
+                double p;
+                double q;
+                double s = fb / fa;
+                if (a == c) {
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    double r = fb / fc;
+                    double t = fa / fc;
+                    p = s * (2 * m * t * (t - r) - (b - a) * (r - 1));
+                    q = (t - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                // Accept the step only if it stays in the bracket and shrinks faster than bisection would
+                if (2 * p < Math.min(3 * m * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = m;
+                }
+            } else {
+                d = m;
+                e = m;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol ? d : (m > 0 ? tol : -tol);
+            fb = f.applyAsDouble(b);
+        }
+        if (result != null) {
+            result.set(i, Double.NaN, maxIterations, 2 + maxIterations, Math.abs(fb), RootBatchResult.Status.MAX_ITERATIONS);
+        }
+        return Double.NaN;
+    }
+
+    private static double recordBrent(RootBatchResult result, int i, double root, int iterations,
+                                      int evaluations, double residual) {
+        if (result != null) {
+            result.set(i, root, iterations, evaluations, residual, RootBatchResult.Status.CONVERGED);
+        }
+        return root;
+    }
+
     // Timer Function
     /**
      * Measures the time taken by a method to execute in nanoseconds.
+     * This is a single cold run, fine for timing a whole batch; use the JMH suite in benchmarks/
+     * to compare individual methods.
      * @param method The method to be executed.
      * @return The time taken in nanoseconds.
      */
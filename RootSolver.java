@@ -0,0 +1,34 @@
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Common signature for the root finding strategies, so callers can pick a method per equation
+ * or per batch without caring how it works.
+ * x0 and x1 are the interval ends for bracketing methods and the starting points otherwise.
+ * Implementations throw ArithmeticException when they cannot find a root.
+ */
+@FunctionalInterface
+public interface RootSolver {
+
+    double solve(DoubleUnaryOperator f, double x0, double x1, double tolerance);
+
+    // Guaranteed but slow: halves the bracket every step; throws unless f changes sign on [x0, x1]
+    RootSolver BISECTION = (f, x0, x1, tolerance) -> {
+        if (!(f.applyAsDouble(x0) * f.applyAsDouble(x1) <= 0)) {
+            throw new ArithmeticException("Bisection needs an interval where f changes sign");
+        }
+        return RootFinding.bisectionMethod(f, x0, x1, tolerance);
+    };
+
+    // Fast but unbracketed: throws on a flat secant, a stall away from a root, or after
+    // RootFinding.DEFAULT_MAX_ITERATIONS steps
+    RootSolver SECANT = (f, x0, x1, tolerance) -> RootFinding.secantMethod(
+            f, x0, x1, tolerance, RootFinding.DEFAULT_MAX_ITERATIONS);
+
+    // Iterates x = x - f(x) from x0, capped at RootFinding.DEFAULT_MAX_ITERATIONS steps
+    RootSolver FIXED_POINT = (f, x0, x1, tolerance) -> RootFinding.fixedPointIteration(
+            x -> x - f.applyAsDouble(x), x0, tolerance, RootFinding.DEFAULT_MAX_ITERATIONS);
+
+    // Bracketed like bisection, superlinear like the secant method
+    RootSolver BRENT = (f, x0, x1, tolerance) -> RootFinding.brentsMethod(
+            f, x0, x1, tolerance, RootFinding.DEFAULT_MAX_ITERATIONS);
+}
@@ -0,0 +1,47 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Vector API kernels; compile and run with --add-modules jdk.incubator.vector
+public class SimdKernels implements VectorKernels.Kernels {
+
+    // Widest vector shape the CPU supports (4 doubles on AVX2, 8 on AVX-512)
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int length) {
+        DoubleVector a = DoubleVector.broadcast(SPECIES, alpha);
+        int upper = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < upper; k += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOff + k);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOff + k);
+            vx.fma(a, vy).intoArray(y, yOff + k);
+        }
+        for (; k < length; k++) {
+            y[yOff + k] += alpha * x[xOff + k];
+        }
+    }
+
+    @Override
+    public double dot(double[] x, int xOff, double[] y, int yOff, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int upper = SPECIES.loopBound(length);
+        int k = 0;
+        for (; k < upper; k += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOff + k);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOff + k);
+            acc = vx.fma(vy, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; k < length; k++) {
+            sum += x[xOff + k] * y[yOff + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize() + "bit";
+    }
+}
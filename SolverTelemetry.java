@@ -0,0 +1,207 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Convergence statistics for one root finding method, aggregated over any number of solves.
+ * Iterations and evaluations go into power-of-two histograms and the residuals of converged solves into
+ * one bucket per binary exponent, all lock-free counters, so worker threads can record into the same instance.
+ * Percentiles are reported as the upper edge of their bucket, which is within a factor of two.
+ */
+public class SolverTelemetry {
+
+    private static final RootBatchResult.Status[] STATUSES = RootBatchResult.Status.values();
+
+    // Bucket 0 holds 0 and bucket k >= 1 holds [2^(k-1), 2^k)
+    static final int COUNT_BUCKETS = 33;
+
+    // Bucket 0 holds residual 0, bucket k holds binary exponent k - RESIDUAL_OFFSET (clamped),
+    // and the last bucket holds NaN and infinity
+    static final int RESIDUAL_OFFSET = 65;
+    static final int RESIDUAL_BUCKETS = 2 * RESIDUAL_OFFSET + 1;
+
+    private final String name;
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder failedEvaluations = new LongAdder();
+    private final AtomicLongArray statusCounts = new AtomicLongArray(STATUSES.length);
+    private final AtomicLongArray iterationHistogram = new AtomicLongArray(COUNT_BUCKETS);
+    private final AtomicLongArray evaluationHistogram = new AtomicLongArray(COUNT_BUCKETS);
+    private final AtomicLongArray residualHistogram = new AtomicLongArray(RESIDUAL_BUCKETS);
+
+    public SolverTelemetry(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // Record a single solve
+    public void record(int iterationCount, int evaluationCount, double residual, RootBatchResult.Status status) {
+        solves.increment();
+        iterations.add(iterationCount);
+        evaluations.add(evaluationCount);
+        if (status == RootBatchResult.Status.CONVERGED) {
+            residualHistogram.incrementAndGet(residualBucket(residual));
+        } else {
+            failedEvaluations.add(evaluationCount);
+        }
+        statusCounts.incrementAndGet(status.ordinal());
+        iterationHistogram.incrementAndGet(countBucket(iterationCount));
+        evaluationHistogram.incrementAndGet(countBucket(evaluationCount));
+    }
+
+    /**
+     * Record equations [from, to) of a batch. The range is tallied into local arrays first
+     * and merged with one atomic add per non-empty bucket, so a parallel chunk touches the shared
+     * counters a few dozen times instead of once per equation.
+     */
+    public void record(RootBatchResult result, int from, int to) {
+        long iterationSum = 0;
+        long evaluationSum = 0;
+        long failedSum = 0;
+        long[] statusLocal = new long[STATUSES.length];
+        long[] iterationLocal = new long[COUNT_BUCKETS];
+        long[] evaluationLocal = new long[COUNT_BUCKETS];
+        long[] residualLocal = new long[RESIDUAL_BUCKETS];
+        for (int i = from; i < to; i++) {
+            int iterationCount = result.iterations[i];
+            int evaluationCount = result.evaluations[i];
+            iterationSum += iterationCount;
+            evaluationSum += evaluationCount;
+            if (result.converged(i)) {
+                residualLocal[residualBucket(result.residuals[i])]++;
+            } else {
+                failedSum += evaluationCount;
+            }
+            statusLocal[result.status[i]]++;
+            iterationLocal[countBucket(iterationCount)]++;
+            evaluationLocal[countBucket(evaluationCount)]++;
+        }
+        solves.add(to - from);
+        iterations.add(iterationSum);
+        evaluations.add(evaluationSum);
+        failedEvaluations.add(failedSum);
+        merge(statusCounts, statusLocal);
+        merge(iterationHistogram, iterationLocal);
+        merge(evaluationHistogram, evaluationLocal);
+        merge(residualHistogram, residualLocal);
+    }
+
+    public void record(RootBatchResult result) {
+        record(result, 0, result.size());
+    }
+
+    private static void merge(AtomicLongArray shared, long[] local) {
+        for (int k = 0; k < local.length; k++) {
+            if (local[k] != 0) {
+                shared.addAndGet(k, local[k]);
+            }
+        }
+    }
+
+    static int countBucket(int value) {
+        return value <= 0 ? 0 : 32 - Integer.numberOfLeadingZeros(value);
+    }
+
+    static int residualBucket(double residual) {
+        if (residual == 0) {
+            return 0;
+        }
+        if (!Double.isFinite(residual)) {
+            return RESIDUAL_BUCKETS - 1;
+        }
+        int exponent = Math.getExponent(residual) + RESIDUAL_OFFSET;
+        return Math.max(1, Math.min(exponent, RESIDUAL_BUCKETS - 2));
+    }
+
+    public long solves() {
+        return solves.sum();
+    }
+
+    public long count(RootBatchResult.Status status) {
+        return statusCounts.get(status.ordinal());
+    }
+
+    public double meanIterations() {
+        long n = solves.sum();
+        return n == 0 ? 0 : (double) iterations.sum() / n;
+    }
+
+    public double meanEvaluations() {
+        long n = solves.sum();
+        return n == 0 ? 0 : (double) evaluations.sum() / n;
+    }
+
+    // Share of all function evaluations that went into solves that did not converge
+    public double wastedEvaluationShare() {
+        long total = evaluations.sum();
+        return total == 0 ? 0 : (double) failedEvaluations.sum() / total;
+    }
+
+    // Iteration count that at least a fraction q of the solves stayed below or at, to within a factor of two
+    public long iterationPercentile(double q) {
+        int bucket = percentileBucket(iterationHistogram, q);
+        return bucket == 0 ? 0 : (1L << bucket) - 1;
+    }
+
+    public long evaluationPercentile(double q) {
+        int bucket = percentileBucket(evaluationHistogram, q);
+        return bucket == 0 ? 0 : (1L << bucket) - 1;
+    }
+
+    // Upper bound on the residual of a fraction q of the converged solves; NaN if that falls in the NaN bucket
+    public double residualPercentile(double q) {
+        int bucket = percentileBucket(residualHistogram, q);
+        if (bucket == 0) {
+            return 0;
+        }
+        if (bucket == RESIDUAL_BUCKETS - 1) {
+            return Double.NaN;
+        }
+        return Math.scalb(1.0, bucket - RESIDUAL_OFFSET + 1);
+    }
+
+    private static int percentileBucket(AtomicLongArray histogram, double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Percentile must be in [0, 1]: " + q);
+        }
+        long total = 0;
+        for (int k = 0; k < histogram.length(); k++) {
+            total += histogram.get(k);
+        }
+        long target = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int k = 0; k < histogram.length(); k++) {
+            seen += histogram.get(k);
+            if (seen >= target && seen > 0) {
+                return k;
+            }
+        }
+        return 0;
+    }
+
+    // One-line summary: outcome counts, iteration and evaluation percentiles, residual percentiles
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append(name).append(": ").append(solves()).append(" solves");
+        for (RootBatchResult.Status status : STATUSES) {
+            long count = count(status);
+            if (count != 0) {
+                text.append(", ").append(status).append(' ').append(count);
+            }
+        }
+        text.append(String.format("; iterations mean %.1f p50<=%d p99<=%d max<=%d",
+                meanIterations(), iterationPercentile(0.5), iterationPercentile(0.99), iterationPercentile(1)));
+        text.append(String.format("; evaluations mean %.1f (%.0f%% on failed solves)",
+                meanEvaluations(), 100 * wastedEvaluationShare()));
+        text.append(String.format("; residual p50<=%.1e p99<=%.1e", residualPercentile(0.5), residualPercentile(0.99)));
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,189 @@
+import java.util.Arrays;
+
+public class SparseDirectSolver {
+
+    private final int n;
+    private final int[] perm;
+    private final BandedLU lu;
+
+    /**
+     * Factors a sparse matrix after reordering it with Reverse Cuthill-McKee.
+     * The ordering clusters the non-zeros around the diagonal, so the factorization only
+     * fills in inside a narrow band and memory stays proportional to n * bandwidth.
+     * @throws ArithmeticException if the matrix is singular or nearly singular.
+     */
+    public SparseDirectSolver(SparseMatrix a) {
+        n = a.n;
+        perm = reverseCuthillMcKee(a);
+        SparseMatrix reordered = a.permute(perm);
+        lu = BandedLU.factor(reordered, reordered.lowerBandwidth(), reordered.upperBandwidth());
+    }
+
+    // Solve A * x = b; b is not modified
+    public double[] solve(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        double[] pb = new double[n];
+        for (int i = 0; i < n; i++) {
+            pb[i] = b[perm[i]];
+        }
+        double[] px = lu.solve(pb);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[perm[i]] = px[i];
+        }
+        return x;
+    }
+
+    /**
+     * Computes a Reverse Cuthill-McKee ordering of the symmetrized pattern of A.
+     * Each connected component is traversed breadth-first from a pseudo-peripheral node,
+     * visiting neighbours in order of increasing degree.
+     * @return perm where perm[newIndex] = oldIndex.
+     */
+    static int[] reverseCuthillMcKee(SparseMatrix a) {
+        int n = a.n;
+        int[][] adjacency = symmetricAdjacency(a);
+
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(level, -1);
+        int count = 0;
+        for (int seed = 0; seed < n; seed++) {
+            if (visited[seed]) {
+                continue;
+            }
+            int start = pseudoPeripheralNode(adjacency, seed, level, queue);
+            int head = count;
+            order[count++] = start;
+            visited[start] = true;
+            while (head < count) {
+                int node = order[head++];
+                int first = count;
+                for (int neighbour : adjacency[node]) {
+                    if (!visited[neighbour]) {
+                        visited[neighbour] = true;
+                        order[count++] = neighbour;
+                    }
+                }
+                sortByDegree(order, first, count, adjacency);
+            }
+        }
+
+        // Reverse the Cuthill-McKee order
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
+    }
+
+    // Neighbour lists of the pattern of A + A^T without the diagonal
+    static int[][] symmetricAdjacency(SparseMatrix a) {
+        int n = a.n;
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int k = a.rowPtr[i]; k < a.rowPtr[i + 1]; k++) {
+                int j = a.colIdx[k];
+                if (j != i) {
+                    degree[i]++;
+                    degree[j]++;
+                }
+            }
+        }
+        int[][] adjacency = new int[n][];
+        for (int i = 0; i < n; i++) {
+            adjacency[i] = new int[degree[i]];
+        }
+        int[] fill = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int k = a.rowPtr[i]; k < a.rowPtr[i + 1]; k++) {
+                int j = a.colIdx[k];
+                if (j != i) {
+                    adjacency[i][fill[i]++] = j;
+                    adjacency[j][fill[j]++] = i;
+                }
+            }
+        }
+
+        // Drop the duplicates left by entries that are stored on both sides of the diagonal
+        for (int i = 0; i < n; i++) {
+            int[] list = adjacency[i];
+            Arrays.sort(list);
+            int unique = 0;
+            for (int k = 0; k < list.length; k++) {
+                if (k == 0 || list[k] != list[k - 1]) {
+                    list[unique++] = list[k];
+                }
+            }
+            if (unique != list.length) {
+                adjacency[i] = Arrays.copyOf(list, unique);
+            }
+        }
+        return adjacency;
+    }
+
+    // Find a node far from the rest of its component by repeated breadth-first searches
+    private static int pseudoPeripheralNode(int[][] adjacency, int seed, int[] level, int[] queue) {
+        int node = seed;
+        int eccentricity = -1;
+        while (true) {
+            int reached = breadthFirstLevels(adjacency, node, level, queue);
+            int depth = level[queue[reached - 1]];
+
+            // Among the nodes of the last level, continue from the one with the lowest degree
+            int best = queue[reached - 1];
+            for (int k = reached - 1; k >= 0 && level[queue[k]] == depth; k--) {
+                if (adjacency[queue[k]].length < adjacency[best].length) {
+                    best = queue[k];
+                }
+            }
+
+            // Reset only the levels this search touched
+            for (int k = 0; k < reached; k++) {
+                level[queue[k]] = -1;
+            }
+            if (depth <= eccentricity) {
+                return node;
+            }
+            eccentricity = depth;
+            node = best;
+        }
+    }
+
+    // Breadth-first search from start recording node levels; returns the number of nodes left in queue
+    private static int breadthFirstLevels(int[][] adjacency, int start, int[] level, int[] queue) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        level[start] = 0;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int neighbour : adjacency[node]) {
+                if (level[neighbour] < 0) {
+                    level[neighbour] = level[node] + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return tail;
+    }
+
+    // Insertion sort of order[from..to) by node degree
+    private static void sortByDegree(int[] order, int from, int to, int[][] adjacency) {
+        for (int k = from + 1; k < to; k++) {
+            int node = order[k];
+            int degree = adjacency[node].length;
+            int m = k - 1;
+            while (m >= from && adjacency[order[m]].length > degree) {
+                order[m + 1] = order[m];
+                m--;
+            }
+            order[m + 1] = node;
+        }
+    }
+}
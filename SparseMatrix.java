@@ -0,0 +1,205 @@
+import java.util.Arrays;
+
+public class SparseMatrix {
+
+    // Compressed sparse row storage: the non-zeros of row i are at positions rowPtr[i]..rowPtr[i+1]-1
+    final int n;
+    final int[] rowPtr;
+    final int[] colIdx;
+    final double[] values;
+
+    SparseMatrix(int n, int[] rowPtr, int[] colIdx, double[] values) {
+        this.n = n;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /**
+     * Builds an n x n matrix from coordinate triplets (rows[k], cols[k], vals[k]).
+     * Duplicate entries are summed and columns within each row are sorted.
+     */
+    public static SparseMatrix fromTriplets(int n, int[] rows, int[] cols, double[] vals) {
+        if (rows.length != cols.length || rows.length != vals.length) {
+            throw new IllegalArgumentException("Triplet arrays must have the same length");
+        }
+        int count = rows.length;
+
+        // Count entries per row, then turn the counts into row offsets
+        int[] rowPtr = new int[n + 1];
+        for (int k = 0; k < count; k++) {
+            if (rows[k] < 0 || rows[k] >= n || cols[k] < 0 || cols[k] >= n) {
+                throw new IllegalArgumentException("Entry (" + rows[k] + ", " + cols[k] + ") is outside a " + n + " x " + n + " matrix");
+            }
+            rowPtr[rows[k] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            rowPtr[i + 1] += rowPtr[i];
+        }
+
+        // Scatter the triplets into their rows
+        int[] next = Arrays.copyOf(rowPtr, n);
+        int[] colIdx = new int[count];
+        double[] values = new double[count];
+        for (int k = 0; k < count; k++) {
+            int pos = next[rows[k]]++;
+            colIdx[pos] = cols[k];
+            values[pos] = vals[k];
+        }
+
+        // Sort each row by column and merge duplicates
+        int[] newPtr = new int[n + 1];
+        int out = 0;
+        for (int i = 0; i < n; i++) {
+            int start = rowPtr[i];
+            int end = rowPtr[i + 1];
+            sortRow(colIdx, values, start, end);
+            for (int k = start; k < end; k++) {
+                if (out > newPtr[i] && colIdx[out - 1] == colIdx[k]) {
+                    values[out - 1] += values[k];
+                } else {
+                    colIdx[out] = colIdx[k];
+                    values[out] = values[k];
+                    out++;
+                }
+            }
+            newPtr[i + 1] = out;
+        }
+        return new SparseMatrix(n, newPtr, Arrays.copyOf(colIdx, out), Arrays.copyOf(values, out));
+    }
+
+    // Build a sparse matrix from the non-zero entries of a square dense matrix
+    public static SparseMatrix fromDense(double[][] matrix) {
+        int n = matrix.length;
+        int[] rowPtr = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            if (matrix[i].length != n) {
+                throw new IllegalArgumentException("Matrix must be square: row " + i + " has " + matrix[i].length + " columns");
+            }
+            int count = 0;
+            for (double v : matrix[i]) {
+                if (v != 0.0) {
+                    count++;
+                }
+            }
+            rowPtr[i + 1] = rowPtr[i] + count;
+        }
+        int[] colIdx = new int[rowPtr[n]];
+        double[] values = new double[rowPtr[n]];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (matrix[i][j] != 0.0) {
+                    colIdx[pos] = j;
+                    values[pos] = matrix[i][j];
+                    pos++;
+                }
+            }
+        }
+        return new SparseMatrix(n, rowPtr, colIdx, values);
+    }
+
+    // Insertion sort of one row by column index; rows are short so this beats a general sort
+    private static void sortRow(int[] colIdx, double[] values, int start, int end) {
+        for (int k = start + 1; k < end; k++) {
+            int c = colIdx[k];
+            double v = values[k];
+            int m = k - 1;
+            while (m >= start && colIdx[m] > c) {
+                colIdx[m + 1] = colIdx[m];
+                values[m + 1] = values[m];
+                m--;
+            }
+            colIdx[m + 1] = c;
+            values[m + 1] = v;
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public int nonZeros() {
+        return rowPtr[n];
+    }
+
+    // Value at (i, j), or 0 if the entry is not stored
+    public double get(int i, int j) {
+        int k = Arrays.binarySearch(colIdx, rowPtr[i], rowPtr[i + 1], j);
+        return k >= 0 ? values[k] : 0.0;
+    }
+
+    // Compute y = A * x
+    public void multiply(double[] x, double[] y) {
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                sum += values[k] * x[colIdx[k]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    public double[] multiply(double[] x) {
+        double[] y = new double[n];
+        multiply(x, y);
+        return y;
+    }
+
+    // Diagonal entries of the matrix (0 where no diagonal entry is stored)
+    public double[] diagonal() {
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) {
+            d[i] = get(i, i);
+        }
+        return d;
+    }
+
+    // Returns P * A * P^T where perm[newIndex] = oldIndex
+    public SparseMatrix permute(int[] perm) {
+        int[] inverse = new int[n];
+        for (int i = 0; i < n; i++) {
+            inverse[perm[i]] = i;
+        }
+        int[] rowPtr = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int old = perm[i];
+            rowPtr[i + 1] = rowPtr[i] + (this.rowPtr[old + 1] - this.rowPtr[old]);
+        }
+        int[] colIdx = new int[nonZeros()];
+        double[] values = new double[nonZeros()];
+        for (int i = 0; i < n; i++) {
+            int old = perm[i];
+            int pos = rowPtr[i];
+            for (int k = this.rowPtr[old]; k < this.rowPtr[old + 1]; k++) {
+                colIdx[pos] = inverse[this.colIdx[k]];
+                values[pos] = this.values[k];
+                pos++;
+            }
+            sortRow(colIdx, values, rowPtr[i], rowPtr[i + 1]);
+        }
+        return new SparseMatrix(n, rowPtr, colIdx, values);
+    }
+
+    // Number of sub-diagonals containing non-zeros
+    public int lowerBandwidth() {
+        int kl = 0;
+        for (int i = 0; i < n; i++) {
+            if (rowPtr[i + 1] > rowPtr[i]) {
+                kl = Math.max(kl, i - colIdx[rowPtr[i]]);
+            }
+        }
+        return kl;
+    }
+
+    // Number of super-diagonals containing non-zeros
+    public int upperBandwidth() {
+        int ku = 0;
+        for (int i = 0; i < n; i++) {
+            if (rowPtr[i + 1] > rowPtr[i]) {
+                ku = Math.max(ku, colIdx[rowPtr[i + 1] - 1] - i);
+            }
+        }
+        return ku;
+    }
+}
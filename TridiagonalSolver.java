@@ -0,0 +1,67 @@
+public class TridiagonalSolver {
+
+    /**
+     * Solves a tridiagonal system in O(n) time and memory.
+     * Row i reads lower[i] * x[i-1] + diag[i] * x[i] + upper[i] * x[i+1] = rhs[i];
+     * lower[0] and upper[n-1] are ignored. The inputs are not modified.
+     * Diagonally dominant systems use the Thomas algorithm, which is stable without pivoting.
+     * Anything else goes through the banded LU so partial pivoting is kept.
+     * @throws ArithmeticException if the matrix is singular or nearly singular.
+     */
+    public static double[] solve(double[] lower, double[] diag, double[] upper, double[] rhs) {
+        int n = diag.length;
+        if (lower.length != n || upper.length != n || rhs.length != n) {
+            throw new IllegalArgumentException("All diagonals and the result vector must have " + n + " entries");
+        }
+        if (isDiagonallyDominant(lower, diag, upper)) {
+            return thomas(lower, diag, upper, rhs);
+        }
+        BandedLU lu = new BandedLU(n, 1, 1);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                lu.set(i, i - 1, lower[i]);
+            }
+            lu.set(i, i, diag[i]);
+            if (i < n - 1) {
+                lu.set(i, i + 1, upper[i]);
+            }
+        }
+        lu.factor();
+        return lu.solve(rhs);
+    }
+
+    // Thomas algorithm: forward sweep then back substitution, no pivoting
+    static double[] thomas(double[] lower, double[] diag, double[] upper, double[] rhs) {
+        int n = diag.length;
+        double[] c = new double[n];
+        double[] x = new double[n];
+
+        double pivot = diag[0];
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                pivot = diag[i] - lower[i] * c[i - 1];
+            }
+            if (Math.abs(pivot) <= BandedLU.SINGULAR_TOLERANCE) {
+                throw new ArithmeticException("Matrix is singular or nearly singular. No unique solution.");
+            }
+            c[i] = i < n - 1 ? upper[i] / pivot : 0.0;
+            x[i] = (rhs[i] - (i > 0 ? lower[i] * x[i - 1] : 0.0)) / pivot;
+        }
+        for (int i = n - 2; i >= 0; i--) {
+            x[i] -= c[i] * x[i + 1];
+        }
+        return x;
+    }
+
+    // |diag[i]| >= |lower[i]| + |upper[i]| on every row
+    static boolean isDiagonallyDominant(double[] lower, double[] diag, double[] upper) {
+        int n = diag.length;
+        for (int i = 0; i < n; i++) {
+            double offDiagonal = (i > 0 ? Math.abs(lower[i]) : 0.0) + (i < n - 1 ? Math.abs(upper[i]) : 0.0);
+            if (Math.abs(diag[i]) < offDiagonal) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
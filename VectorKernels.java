@@ -0,0 +1,69 @@
+public class VectorKernels {
+
+    // The AXPY and dot product kernels used by the elimination and substitution loops
+    public interface Kernels {
+        // y[yOff + k] += alpha * x[xOff + k] for k in [0, length)
+        void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int length);
+
+        // Sum of x[xOff + k] * y[yOff + k] for k in [0, length)
+        double dot(double[] x, int xOff, double[] y, int yOff, int length);
+
+        String name();
+    }
+
+    // Plain loops; the JIT may or may not auto-vectorize them
+    public static class Scalar implements Kernels {
+        @Override
+        public void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int length) {
+            for (int k = 0; k < length; k++) {
+                y[yOff + k] += alpha * x[xOff + k];
+            }
+        }
+
+        @Override
+        public double dot(double[] x, int xOff, double[] y, int yOff, int length) {
+            double sum = 0;
+            for (int k = 0; k < length; k++) {
+                sum += x[xOff + k] * y[yOff + k];
+            }
+            return sum;
+        }
+
+        @Override
+        public String name() {
+            return "scalar";
+        }
+    }
+
+    // Kernels selected once at startup, so calls through this field stay monomorphic
+    static final Kernels KERNELS = load();
+
+    /**
+     * Uses SimdKernels (jdk.incubator.vector) when the module is available,
+     * i.e. the program was compiled and started with --add-modules jdk.incubator.vector.
+     * Anything else, or -Dkernels.scalar=true, selects the scalar loops.
+     */
+    static Kernels load() {
+        if (Boolean.getBoolean("kernels.scalar")) {
+            return new Scalar();
+        }
+        try {
+            Class<?> simd = Class.forName("SimdKernels");
+            return (Kernels) simd.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Scalar();
+        }
+    }
+
+    public static String selected() {
+        return KERNELS.name();
+    }
+
+    public static void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int length) {
+        KERNELS.axpy(alpha, x, xOff, y, yOff, length);
+    }
+
+    public static double dot(double[] x, int xOff, double[] y, int yOff, int length) {
+        return KERNELS.dot(x, xOff, y, yOff, length);
+    }
+}
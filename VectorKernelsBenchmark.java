@@ -0,0 +1,81 @@
+import java.util.Random;
+
+/**
+ * Compares the scalar and Vector API kernels, then times a full LU solve with the selected kernels.
+ * Run with:
+ *   javac --add-modules jdk.incubator.vector VectorKernelsBenchmark.java VectorKernels.java SimdKernels.java BlockedLU.java
+ *   java --add-modules jdk.incubator.vector VectorKernelsBenchmark
+ * SimdKernels is only loaded by name, so it has to be listed; *.java does not work in this directory because
+ * "Calculator implements ActionListener.java" does not compile under its file name.
+ * Add -Dkernels.scalar=true to time the LU solve with the scalar kernels for comparison.
+ */
+public class VectorKernelsBenchmark {
+
+    public static void main(String[] args) {
+        int[] lengths = {16, 64, 256, 1024, 4096};
+        VectorKernels.Kernels scalar = new VectorKernels.Scalar();
+        VectorKernels.Kernels selected = VectorKernels.KERNELS;
+        System.out.println("Selected kernels: " + selected.name());
+
+        Random rand = new Random(42);
+        for (int length : lengths) {
+            double[] x = new double[length];
+            double[] y = new double[length];
+            for (int i = 0; i < length; i++) {
+                x[i] = rand.nextDouble();
+                y[i] = rand.nextDouble();
+            }
+            int repetitions = Math.max(1, 200_000_000 / length);
+            System.out.printf("length %5d  axpy: scalar %6.2f ns, %s %6.2f ns   dot: scalar %6.2f ns, %s %6.2f ns%n",
+                    length,
+                    timeAxpy(scalar, x, y, repetitions), selected.name(), timeAxpy(selected, x, y, repetitions),
+                    timeDot(scalar, x, y, repetitions), selected.name(), timeDot(selected, x, y, repetitions));
+        }
+
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        double[][] matrix = new double[n][n];
+        double[] result = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                matrix[i][j] = rand.nextDouble() - 0.5;
+            }
+            result[i] = rand.nextDouble();
+        }
+        // Warm up, then time
+        BlockedLU.solve(matrix, result);
+        long start = System.nanoTime();
+        BlockedLU.solve(matrix, result);
+        System.out.printf("LU solve %dx%d with %s kernels: %.1f ms%n", n, n, selected.name(), (System.nanoTime() - start) / 1e6);
+    }
+
+    // Average time per call in nanoseconds, after one warm-up round
+    private static double timeAxpy(VectorKernels.Kernels kernels, double[] x, double[] y, int repetitions) {
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < repetitions; r++) {
+                kernels.axpy(1e-9, x, 0, y, 0, x.length);
+            }
+            if (round == 1) {
+                return (System.nanoTime() - start) / (double) repetitions;
+            }
+        }
+        return 0;
+    }
+
+    private static double timeDot(VectorKernels.Kernels kernels, double[] x, double[] y, int repetitions) {
+        double sink = 0;
+        double time = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < repetitions; r++) {
+                sink += kernels.dot(x, 0, y, 0, x.length);
+            }
+            time = (System.nanoTime() - start) / (double) repetitions;
+        }
+        // Keep the results alive so the loop is not optimized away
+        if (sink == 42) {
+            System.out.println();
+        }
+        return time;
+    }
+}
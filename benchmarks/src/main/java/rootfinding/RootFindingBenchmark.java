@@ -0,0 +1,164 @@
+package rootfinding;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput and average time of each RootFinding method over a fixed, seeded set of quadratics.
+ * Each benchmark invocation solves every equation in the set, and results are reported per equation.
+ * Equations a method fails on still count: the time spent failing is part of its cost.
+ *
+ * JMH cannot generate benchmarks in the default package, so this class lives in a package and
+ * reaches the root classes through static final method handles, which the JIT inlines like direct calls.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RootFindingBenchmark {
+
+    static final int EQUATIONS = 1024;
+
+    private static final MethodHandle BISECTION;
+    private static final MethodHandle SECANT;
+    private static final MethodHandle FIXED_POINT;
+    private static final MethodHandle BRUTE_FORCE;
+    private static final MethodHandle NEWTON;
+
+    static {
+        try {
+            Class<?> rootFinding = Class.forName("RootFinding");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodType sixDoubles = MethodType.methodType(double.class,
+                    double.class, double.class, double.class, double.class, double.class, double.class);
+            BISECTION = lookup.findStatic(rootFinding, "bisectionMethod", sixDoubles);
+            BRUTE_FORCE = lookup.findStatic(rootFinding, "bruteForceRootFinding", sixDoubles);
+            FIXED_POINT = lookup.findStatic(rootFinding, "fixedPointIteration", MethodType.methodType(double.class,
+                    double.class, double.class, double.class, double.class, double.class, int.class));
+            NEWTON = lookup.findStatic(rootFinding, "newtonsMethod", MethodType.methodType(double.class,
+                    double.class, double.class, double.class, double.class, double.class, int.class));
+            SECANT = lookup.findStatic(rootFinding, "secantMethod", MethodType.methodType(double.class,
+                    double.class, double.class, double.class, double.class, double.class, double.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param("42")
+    long seed;
+
+    double[] a;
+    double[] b;
+    double[] c;
+
+    // Same coefficient ranges as RootFinding.main, but reproducible from the seed
+    @Setup(Level.Trial)
+    public void generate() {
+        Random rand = new Random(seed);
+        a = new double[EQUATIONS];
+        b = new double[EQUATIONS];
+        c = new double[EQUATIONS];
+        for (int i = 0; i < EQUATIONS; i++) {
+            a[i] = rand.nextDouble() * 10 - 5;
+            b[i] = rand.nextDouble() * 10 - 5;
+            c[i] = rand.nextDouble() * 10 - 5;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EQUATIONS)
+    public void bisection(Blackhole blackhole) throws Throwable {
+        for (int i = 0; i < EQUATIONS; i++) {
+            blackhole.consume((double) BISECTION.invokeExact(a[i], b[i], c[i], -10.0, 10.0, 1e-6));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EQUATIONS)
+    public void secant(Blackhole blackhole) {
+        for (int i = 0; i < EQUATIONS; i++) {
+            // The capped overload, since the uncapped one wanders for millions of steps when there is no real root
+            try {
+                blackhole.consume((double) SECANT.invokeExact(a[i], b[i], c[i], -10.0, 10.0, 1e-6, 100));
+            } catch (Throwable e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EQUATIONS)
+    public void fixedPoint(Blackhole blackhole) {
+        for (int i = 0; i < EQUATIONS; i++) {
+            // The capped overload, since the uncapped one can cycle forever on some of these equations
+            try {
+                blackhole.consume((double) FIXED_POINT.invokeExact(a[i], b[i], c[i], 0.0, 1e-6, 1000));
+            } catch (Throwable e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EQUATIONS)
+    public void bruteForce(Blackhole blackhole) {
+        for (int i = 0; i < EQUATIONS; i++) {
+            try {
+                blackhole.consume((double) BRUTE_FORCE.invokeExact(a[i], b[i], c[i], -10.0, 10.0, 0.01));
+            } catch (Throwable e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EQUATIONS)
+    public void newton(Blackhole blackhole) {
+        for (int i = 0; i < EQUATIONS; i++) {
+            try {
+                blackhole.consume((double) NEWTON.invokeExact(a[i], b[i], c[i], 1.0, 1e-6, 100));
+            } catch (Throwable e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    /**
+     * Runs the suite with the GC profiler, which adds the allocation rate per operation.
+     * Accepts the usual JMH command line options, e.g. a benchmark name filter or -f 1.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}